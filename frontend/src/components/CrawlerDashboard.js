@@ -256,7 +256,7 @@ const CrawlerDashboard = () => {
           <Grid item xs={12}>
             <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mb: 2 }}>
               <Typography variant="h6" sx={{ fontWeight: 600 }}>
-                Newly Processed Reviews ({crawlerStatus.newReviews.length})
+                Newly Processed Reviews ({crawlerStatus.newReviewCount ?? crawlerStatus.newReviews.length})
               </Typography>
               {crawlerStatus.lastRun && (
                 <Typography variant="body2" color="textSecondary">
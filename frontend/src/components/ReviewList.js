@@ -82,7 +82,13 @@ const ReviewList = () => {
 
   const handleRetryFailed = async () => {
     try {
-      await fetch('http://localhost:8081/api/reviews/retry-failed', { method: 'POST' });
+      const response = await fetch('http://localhost:8081/api/reviews/retry-failed', { method: 'POST' });
+      let job = await response.json();
+      // The retry runs as a background job; poll it before refreshing
+      while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+        await new Promise(resolve => setTimeout(resolve, 2000));
+        job = await (await fetch(`http://localhost:8081/api/jobs/${job.id}`)).json();
+      }
       fetchStats();
       fetchReviews();
     } catch (error) {
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Compares time-to-ready of the default build against the fast-startup build.
+# Build both first:
+#   mvn -B package -DskipTests && cp target/cochrane-0.0.1-SNAPSHOT.war target/default.war
+#   mvn -B -Pfast-startup package -DskipTests
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+TARGET=$(dirname "$0")/../target
+EXTRACTED=$TARGET/extracted
+
+measure() {
+    local label=$1
+    shift
+    local total=0
+    for i in $(seq 1 "$RUNS"); do
+        local log
+        log=$(mktemp)
+        java "$@" --server.port=0 >"$log" 2>&1 &
+        local pid=$!
+        until grep -q "Application ready in" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: application exited before becoming ready, see $log" >&2
+                exit 1
+            fi
+            sleep 0.1
+        done
+        local ms
+        ms=$(grep -o "Application ready in [0-9]* ms" "$log" | grep -o "[0-9]*")
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+        total=$((total + ms))
+    done
+    echo "$label: $((total / RUNS)) ms average time-to-ready over $RUNS runs"
+}
+
+measure "default" -jar "$TARGET/default.war"
+measure "prod profile" -Dspring.profiles.active=prod -jar "$TARGET/default.war"
+measure "prod + AOT + CDS" -XX:SharedArchiveFile="$EXTRACTED/application.jsa" \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+    -jar "$EXTRACTED/cochrane-0.0.1-SNAPSHOT.war"
@@ -3,11 +3,14 @@ package com.cochrane.library.cochrane;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import com.cochrane.library.cochrane.config.CrawlerRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
 @EnableConfigurationProperties
+@ImportRuntimeHints(CrawlerRuntimeHints.class)
 public class CochraneCrawlerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,29 @@
+package com.cochrane.library.cochrane.config;
+
+import com.cochrane.library.cochrane.model.ApiPerformanceReport;
+import com.cochrane.library.cochrane.service.ApiPerformanceMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the API performance report as /actuator/apiperf, next to the
+ * standard metrics, for monitoring that scrapes Actuator.
+ */
+@Component
+@Endpoint(id = "apiperf")
+public class ApiPerformanceEndpoint {
+
+    private final ApiPerformanceMonitor performanceMonitor;
+
+    @Autowired
+    public ApiPerformanceEndpoint(ApiPerformanceMonitor performanceMonitor) {
+        this.performanceMonitor = performanceMonitor;
+    }
+
+    @ReadOperation
+    public ApiPerformanceReport report() {
+        return performanceMonitor.report();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cochrane.library.cochrane.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executor for the async read API (crawler.async-read-api). Its handlers
+ * return right away and release the servlet thread; the query then runs on
+ * one of crawler.async-read-threads api-read threads, sized to the read pool
+ * so waiting requests queue here instead of occupying Tomcat threads.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "crawler", name = "async-read-api", havingValue = "true")
+public class AsyncReadConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private CrawlerConfig crawlerConfig;
+
+    @Bean
+    public ThreadPoolTaskExecutor apiReadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("api-read-");
+        executor.setCorePoolSize(Math.max(1, crawlerConfig.getAsyncReadThreads()));
+        executor.setMaxPoolSize(Math.max(1, crawlerConfig.getAsyncReadThreads()));
+        executor.setQueueCapacity(Math.max(0, crawlerConfig.getAsyncReadQueueCapacity()));
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(apiReadExecutor());
+        configurer.setDefaultTimeout(crawlerConfig.getAsyncReadTimeoutMillis());
+    }
+}
@@ -5,6 +5,11 @@ import org.springframework.context.annotation.Configuration;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "crawler")
@@ -18,6 +23,65 @@ public class CrawlerConfig {
     private boolean clearBeforeCrawl = true;
     private boolean autoSchedule = true;
     private String baseUrl;
+    private int maxListingPages = 50; // pagination limit per topic
+    private int knownReviewStreakToStop = 3; // stop a listing after this many stored reviews in a row
+    private int fetchWorkers = 2; // concurrent downloads, still bound by delayBetweenRequests
+    private int parseWorkers = 0; // 0 = one per available core
+    private int storeBatchSize = 20;
+    private int pipelineQueueCapacity = 100; // per stage
+    private int nearDuplicateMaxDistance = 3; // SimHash bits two DOI versions may differ in to be linked
+    private int recentReviewsWindow = 50; // newest additions kept in memory for the status
+    private String recrawlCron = "0 */15 * * * *"; // Every 15 minutes
+    private int recrawlBudget = 50; // page fetches per recrawl tick
+    private long recrawlInitialIntervalHours = 72;
+    private long recrawlMinIntervalHours = 6;
+    private long recrawlMaxIntervalHours = 720;
+    private int retryWorkers = 1; // threads re-fetching failed reviews, still bound by delayBetweenRequests
+    private int jobQueueCapacity = 20; // queued retry/maintenance jobs before new ones are rejected
+    private int circuitWindowSize = 20; // recent requests per host the failure rate is taken over
+    private int circuitMinimumCalls = 5; // requests in the window before the circuit may open
+    private double circuitFailureRateThreshold = 50; // percent of transient failures that opens it
+    private long circuitOpenMillis = 30000; // how long an open circuit fails fast before a probe
+    private int deadLetterHistorySize = 10; // failures kept per dead-lettered URL
+    private boolean adaptiveTimeout = true; // derive timeouts from observed p99, requestTimeout is the ceiling
+    private double adaptiveTimeoutFactor = 3.0; // timeout = p99 x factor
+    private int adaptiveTimeoutMinMillis = 2000;
+    private int latencyMinSamples = 20; // downloads per host before timeouts adapt or requests are hedged
+    private boolean hedgeRequests = false; // re-send a download still running after the host's p95
+    // body size cap per media type; longer bodies are truncated and counted in the crawl status
+    private Map<String, Integer> maxBodyBytes = new HashMap<>(Map.of(
+            "text/html", 5 * 1024 * 1024,
+            "application/xhtml+xml", 5 * 1024 * 1024,
+            "application/xml", 50 * 1024 * 1024, // sitemaps may be 50 MB uncompressed
+            "text/xml", 50 * 1024 * 1024,
+            "application/gzip", 50 * 1024 * 1024,
+            "application/x-gzip", 50 * 1024 * 1024));
+    private int defaultMaxBodyBytes = 1024 * 1024; // any other accepted (text or XML) type
+    // review pages stop downloading at the first of these, e.g. <section class="references"
+    private List<String> reviewPageStopMarkers = new ArrayList<>();
+    private boolean respectRobotsTxt = true;
+    private String robotsAgent = "CochraneCrawler"; // the robots.txt user-agent group that applies to us
+    private long robotsCacheMillis = 24 * 60 * 60 * 1000L;
+    private long robotsErrorRetryMillis = 10 * 60 * 1000L; // after robots.txt could not be fetched
+    private long maxCrawlDelayMillis = 60000; // longer robots.txt Crawl-delays are capped to this
+    private boolean sitemapDiscovery = true; // queue new and changed reviews from the sitemaps after the topic walk
+    private List<String> sitemapUrls = new ArrayList<>(); // read in addition to those robots.txt lists
+    private int maxSitemapsPerCrawl = 50; // sitemap files fetched per crawl, indexes included
+    private String snapshotPath = ""; // binary corpus snapshot for warm starts, empty disables it
+    private String snapshotCron = "0 */30 * * * *"; // Every 30 minutes, skipped when nothing changed
+    private boolean snapshotOnShutdown = true; // write a last snapshot when the application stops
+    private boolean asyncReadApi = false; // serve /api/async/reviews off the servlet threads
+    private int asyncReadThreads = 10; // at most one per read-pool connection
+    private int asyncReadQueueCapacity = 1000; // requests waiting for a thread; beyond that 503
+    private long asyncReadTimeoutMillis = 30000;
+    private long statsCoalesceFreshMillis = 1000; // stats and topic lists reused for this long after a query
+    private long statsCoalesceStaleMillis = 0; // then served stale for this long while one caller refreshes them
+    private int priorityFetchWorkers = 2; // threads refreshing single reviews on demand
+    private int priorityFetchQueueCapacity = 20; // refreshes waiting for a thread; beyond that 503
+    private long refreshTimeoutMillis = 15000; // how long POST /api/reviews/refresh waits before answering 202
+    private boolean flightRecording = true; // continuous JFR recording, dumped via GET /api/admin/flight-recording
+    private int flightRecordingMaxAgeMinutes = 60;
+    private int flightRecordingMaxSizeMb = 100;
 
     public String getUserAgent() {
         return userAgent;
@@ -0,0 +1,17 @@
+package com.cochrane.library.cochrane.config;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * AOT hints for things Spring can't infer on its own: Jsoup loads its HTML
+ * entity tables from classpath resources at first use.
+ */
+public class CrawlerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("org/jsoup/nodes/entities-*.properties");
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
@@ -1,23 +1,34 @@
 package com.cochrane.library.cochrane.config;
 
+import com.cochrane.library.cochrane.model.Author;
 import com.cochrane.library.cochrane.model.CochraneReview;
 import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import com.cochrane.library.cochrane.service.FacetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(prefix = "crawler", name = "seed-sample-data", havingValue = "true", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
     private CochraneReviewRepository reviewRepository;
 
+    @Autowired
+    private FacetService facetService;
+
     @Override
     public void run(String... args) {
         if (reviewRepository.count() == 0) {
             initializeSampleData();
+            facetService.refreshCounts();
         }
     }
 
@@ -31,7 +42,7 @@ public class DataInitializer implements CommandLineRunner {
         covidReview.setPublicationDate(LocalDate.of(2023, 3, 15));
         covidReview.setContent("Sample content for COVID-19 review...");
         covidReview.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
-        reviewRepository.save(covidReview);
+        saveWithFacets(covidReview);
 
         // Mental Health Review
         CochraneReview mentalHealthReview = new CochraneReview();
@@ -42,7 +53,7 @@ public class DataInitializer implements CommandLineRunner {
         mentalHealthReview.setPublicationDate(LocalDate.of(2023, 4, 1));
         mentalHealthReview.setContent("Sample content for mental health review...");
         mentalHealthReview.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
-        reviewRepository.save(mentalHealthReview);
+        saveWithFacets(mentalHealthReview);
 
         // Cancer Review
         CochraneReview cancerReview = new CochraneReview();
@@ -53,7 +64,7 @@ public class DataInitializer implements CommandLineRunner {
         cancerReview.setPublicationDate(LocalDate.of(2023, 2, 28));
         cancerReview.setContent("Sample content for cancer review...");
         cancerReview.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
-        reviewRepository.save(cancerReview);
+        saveWithFacets(cancerReview);
 
         // Cardiovascular Review
         CochraneReview cardioReview = new CochraneReview();
@@ -64,7 +75,7 @@ public class DataInitializer implements CommandLineRunner {
         cardioReview.setPublicationDate(LocalDate.of(2023, 1, 15));
         cardioReview.setContent("Sample content for cardiovascular review...");
         cardioReview.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
-        reviewRepository.save(cardioReview);
+        saveWithFacets(cardioReview);
 
         // Neurology Review
         CochraneReview neuroReview = new CochraneReview();
@@ -75,6 +86,14 @@ public class DataInitializer implements CommandLineRunner {
         neuroReview.setPublicationDate(LocalDate.of(2023, 3, 30));
         neuroReview.setContent("Sample content for neurology review...");
         neuroReview.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
-        reviewRepository.save(neuroReview);
+        saveWithFacets(neuroReview);
+    }
+
+    private void saveWithFacets(CochraneReview review) {
+        review.setAuthorList(Arrays.stream(review.getAuthors().split(",\\s*"))
+                .map(Author::new)
+                .collect(Collectors.toCollection(ArrayList::new)));
+        facetService.link(review);
+        reviewRepository.save(review);
     }
-}
\ No newline at end of file
+}
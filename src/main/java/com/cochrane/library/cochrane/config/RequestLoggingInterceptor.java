@@ -1,22 +1,53 @@
 package com.cochrane.library.cochrane.config;
 
+import com.cochrane.library.cochrane.service.ApiPerformanceMonitor;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs every API request with an id and records its duration and response
+ * size in the ApiPerformanceMonitor.
+ *
+ * Async handlers (Callable, StreamingResponseBody) are dispatched twice, and
+ * afterCompletion only runs after the second, ASYNC dispatch. That dispatch
+ * keeps the id and start time of the first, so the recorded time covers the
+ * whole request, and the MDC is cleared on the first thread once it lets go
+ * of the request.
+ */
 @Component
-public class RequestLoggingInterceptor implements HandlerInterceptor {
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
     private static final Logger logger = LoggerFactory.getLogger("API_LOGGER");
+    // MDC key, so everything logged while handling the request carries its id
+    static final String REQUEST_ID = "requestId";
+
+    private final ApiPerformanceMonitor performanceMonitor;
+
+    @Autowired
+    public RequestLoggingInterceptor(ApiPerformanceMonitor performanceMonitor) {
+        this.performanceMonitor = performanceMonitor;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute("requestId") instanceof String requestId) {
+            MDC.put(REQUEST_ID, requestId);
+            return true;
+        }
         String requestId = generateRequestId();
         request.setAttribute("requestId", requestId);
-        request.setAttribute("startTime", System.currentTimeMillis());
+        request.setAttribute("startTime", System.nanoTime());
+        MDC.put(REQUEST_ID, requestId);
 
         logger.info("[{}] {} {} - Request received",
                 requestId,
@@ -26,22 +57,58 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /**
+     * The handler returned an async result; this thread is done with the
+     * request, which completes on the ASYNC dispatch.
+     */
     @Override
-    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
-            ModelAndView modelAndView) {
-        String requestId = (String) request.getAttribute("requestId");
-        long startTime = (Long) request.getAttribute("startTime");
-        long duration = System.currentTimeMillis() - startTime;
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        MDC.remove(REQUEST_ID);
+    }
 
-        logger.info("[{}] {} {} - Response status: {} ({}ms)",
-                requestId,
-                request.getMethod(),
-                request.getRequestURI(),
-                response.getStatus(),
-                duration);
+    /**
+     * Runs after the response body has been written (or the handler threw), so
+     * the duration includes serialization and failures.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        try {
+            String requestId = (String) request.getAttribute("requestId");
+            long durationNanos = System.nanoTime() - (Long) request.getAttribute("startTime");
+            long responseBytes = responseBytes(request, response);
+
+            logger.info("[{}] {} {} - Response status: {} ({}ms, {} bytes)",
+                    requestId,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    response.getStatus(),
+                    durationNanos / 1_000_000,
+                    responseBytes);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " "
+                    + (pattern != null ? pattern.toString() : request.getRequestURI());
+            performanceMonitor.record(endpoint, request.getRequestURI(), request.getQueryString(),
+                    response.getStatus(), ex != null, durationNanos, responseBytes);
+        } finally {
+            MDC.remove(REQUEST_ID);
+        }
+    }
+
+    private static long responseBytes(HttpServletRequest request, HttpServletResponse response) {
+        Object counter = request.getAttribute(ResponseSizeFilter.RESPONSE_SIZE);
+        if (counter instanceof ResponseSizeFilter.CountingResponse counting) {
+            return counting.bytes();
+        }
+        String contentLength = response.getHeader("Content-Length");
+        return contentLength != null ? Long.parseLong(contentLength) : -1;
     }
 
+    // 12 hex digits from the thread-local generator: no shared Random, no format parsing
     private String generateRequestId() {
-        return String.format("%06d", (int) (Math.random() * 1000000));
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xffffffffffffL | 0x1000000000000L)
+                .substring(1);
     }
-}
\ No newline at end of file
+}
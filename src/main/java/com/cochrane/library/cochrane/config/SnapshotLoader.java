@@ -0,0 +1,26 @@
+package com.cochrane.library.cochrane.config;
+
+import com.cochrane.library.cochrane.service.CorpusSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the corpus snapshot before any other runner, so the sample data is
+ * only seeded when there was no snapshot. Runners finish before the
+ * application is marked ready, so traffic only arrives once the corpus is in.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SnapshotLoader implements CommandLineRunner {
+
+    @Autowired
+    private CorpusSnapshotService snapshotService;
+
+    @Override
+    public void run(String... args) {
+        snapshotService.loadIfEmpty();
+    }
+}
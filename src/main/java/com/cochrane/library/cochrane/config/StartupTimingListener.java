@@ -0,0 +1,24 @@
+package com.cochrane.library.cochrane.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs the time from JVM start until the application is ready to serve
+ * traffic. scripts/startup-benchmark.sh reads this line.
+ */
+@Component
+public class StartupTimingListener implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        logger.info("Application ready in {} ms (JVM uptime)", uptimeMs);
+    }
+}
@@ -0,0 +1,136 @@
+package com.cochrane.library.cochrane.controller;
+
+import com.cochrane.library.cochrane.model.ApiPerformanceReport;
+import com.cochrane.library.cochrane.model.CircuitBreakerStatus;
+import com.cochrane.library.cochrane.model.DeadLetter;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.service.ApiPerformanceMonitor;
+import com.cochrane.library.cochrane.service.CorpusSnapshotService;
+import com.cochrane.library.cochrane.service.DeadLetterService;
+import com.cochrane.library.cochrane.service.FlightRecordingService;
+import com.cochrane.library.cochrane.service.JobService;
+import com.cochrane.library.cochrane.service.PageFetcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final ApiPerformanceMonitor performanceMonitor;
+    private final PageFetcher pageFetcher;
+    private final DeadLetterService deadLetterService;
+    private final CorpusSnapshotService snapshotService;
+    private final JobService jobService;
+    private final FlightRecordingService flightRecordingService;
+
+    @Autowired
+    public AdminController(ApiPerformanceMonitor performanceMonitor, PageFetcher pageFetcher,
+            DeadLetterService deadLetterService, CorpusSnapshotService snapshotService, JobService jobService,
+            FlightRecordingService flightRecordingService) {
+        this.performanceMonitor = performanceMonitor;
+        this.pageFetcher = pageFetcher;
+        this.deadLetterService = deadLetterService;
+        this.snapshotService = snapshotService;
+        this.jobService = jobService;
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    /**
+     * Per-endpoint latency percentiles and response sizes, slowest endpoint
+     * first, plus the slowest requests with their query strings.
+     */
+    @GetMapping("/perf")
+    public ResponseEntity<ApiPerformanceReport> getPerformance() {
+        return ResponseEntity.ok(performanceMonitor.report());
+    }
+
+    /**
+     * Starts a new measurement window, e.g. before reproducing a slow dashboard.
+     */
+    @DeleteMapping("/perf")
+    public ResponseEntity<Void> resetPerformance() {
+        performanceMonitor.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Circuit breaker state per crawled host.
+     */
+    @GetMapping("/circuits")
+    public ResponseEntity<List<CircuitBreakerStatus>> getCircuits() {
+        return ResponseEntity.ok(pageFetcher.circuitStatus());
+    }
+
+    /**
+     * Dead-lettered review URLs with their failure history, most recent
+     * failure first. permanent=false lists the ones the next redrive retries.
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<Page<DeadLetter>> getDeadLetters(
+            @RequestParam(defaultValue = "true") boolean permanent,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(deadLetterService.list(permanent,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "lastFailedAt"))));
+    }
+
+    /**
+     * Writes the corpus snapshot now instead of waiting for
+     * crawler.snapshot-cron, e.g. before a planned restart. Returns the job to
+     * poll; its result holds the rows written per table.
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<Job> writeSnapshot() {
+        if (!snapshotService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        Job job = jobService.submit(Job.Type.SNAPSHOT, "corpus snapshot", snapshotService::writeSnapshot);
+        if (job.getStatus() == Job.Status.REJECTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(job);
+        }
+        return ResponseEntity.accepted().header("Location", "/api/jobs/" + job.getId()).body(job);
+    }
+
+    /**
+     * The continuous flight recording so far as a .jfr file, for JDK Mission
+     * Control or `jfr print`. 404 when crawler.flight-recording is off.
+     */
+    @GetMapping("/flight-recording")
+    public ResponseEntity<StreamingResponseBody> dumpFlightRecording() throws IOException {
+        if (!flightRecordingService.isRecording()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = flightRecordingService.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cochrane.library.cochrane.controller;
+
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.service.ReviewQueryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * The read endpoints of {@link ReviewController} as async handlers, enabled
+ * with crawler.async-read-api. The servlet thread is released as soon as the
+ * handler returns and the query runs on the api-read executor (see
+ * AsyncReadConfig), so concurrent dashboards wait in its queue rather than
+ * holding Tomcat threads that other requests need.
+ */
+@RestController
+@RequestMapping("/api/async/reviews")
+@ConditionalOnProperty(prefix = "crawler", name = "async-read-api", havingValue = "true")
+public class AsyncReviewController {
+
+    private final ReviewQueryService reviewQueryService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AsyncReviewController(ReviewQueryService reviewQueryService, ObjectMapper objectMapper) {
+        this.reviewQueryService = reviewQueryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public Callable<ResponseEntity<Page<CochraneReview>>> getReviews(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("publicationDate").descending());
+        return () -> ResponseEntity.ok(reviewQueryService.findReviews(topic, searchTerm, author, publishedFrom,
+                publishedTo, pageRequest));
+    }
+
+    @GetMapping("/topics")
+    public Callable<ResponseEntity<List<String>>> getAllTopics() {
+        return () -> ResponseEntity.ok(reviewQueryService.topicNames());
+    }
+
+    @GetMapping("/stats")
+    public Callable<Map<String, Object>> getStats() {
+        return reviewQueryService::stats;
+    }
+
+    /**
+     * Every review (or the topic's reviews) as one JSON array of summaries,
+     * newest first. Rows are written as the query returns them, so neither
+     * the server nor the response buffers the whole corpus.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String topic) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                // the servlet container closes the response
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartArray();
+                try {
+                    reviewQueryService.streamSummaries(topic, summary -> {
+                        try {
+                            json.writeObject(summary);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * The api-read queue is full.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> handleRejected() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+    }
+}
@@ -1,15 +1,21 @@
 package com.cochrane.library.cochrane.controller;
 
 import com.cochrane.library.cochrane.config.CrawlerConfig;
-import com.cochrane.library.cochrane.model.CochraneReview;
 import com.cochrane.library.cochrane.model.CrawlerStatus;
-import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.model.PipelineStageStats;
+import com.cochrane.library.cochrane.model.ReviewSummary;
 import com.cochrane.library.cochrane.service.CrawlerService;
+import com.cochrane.library.cochrane.service.ReviewQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -19,23 +25,31 @@ public class CrawlerController {
 
     private final CrawlerService crawlerService;
     private final CrawlerConfig config;
-    private final CochraneReviewRepository repository;
+    private final ReviewQueryService reviewQueryService;
 
     @Autowired
-    public CrawlerController(CrawlerService crawlerService, CrawlerConfig config, CochraneReviewRepository repository) {
+    public CrawlerController(CrawlerService crawlerService, CrawlerConfig config,
+            ReviewQueryService reviewQueryService) {
         this.crawlerService = crawlerService;
         this.config = config;
-        this.repository = repository;
+        this.reviewQueryService = reviewQueryService;
     }
 
+    /**
+     * Starts an incremental crawl as a CRAWL job and answers 202 with the job
+     * to poll at /api/jobs/{id}. 409 when a crawl is already running, 503 when
+     * the crawl pool is busy.
+     */
     @PostMapping("/start")
-    public ResponseEntity<CrawlerStatus> startCrawl() {
-        try {
-            crawlerService.startCrawler();
-            return ResponseEntity.ok(crawlerService.getStatus());
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(null);
+    public ResponseEntity<Job> startCrawl() {
+        Job job = crawlerService.startCrawler();
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (job.getStatus() == Job.Status.REJECTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(job);
         }
+        return ResponseEntity.accepted().header("Location", "/api/jobs/" + job.getId()).body(job);
     }
 
     @PostMapping("/stop")
@@ -72,22 +86,28 @@ public class CrawlerController {
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        long totalReviews = repository.count();
-        List<String> topics = repository.findAll().stream()
-                .map(CochraneReview::getTopic)
-                .distinct()
-                .toList();
-
-        stats.put("totalReviews", totalReviews);
-        stats.put("uniqueTopics", topics.size());
-        stats.put("topics", topics);
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(reviewQueryService.crawlerStats());
     }
 
     @GetMapping("/status")
     public ResponseEntity<CrawlerStatus> getStatus() {
         return ResponseEntity.ok(crawlerService.getStatus());
     }
+
+    /**
+     * Pages through the reviews added by the current or last crawl (or since
+     * the given time); the status only carries the newest few.
+     */
+    @GetMapping("/new-reviews")
+    public ResponseEntity<Page<ReviewSummary>> getNewReviews(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(crawlerService.getNewReviews(since, PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/pipeline")
+    public ResponseEntity<List<PipelineStageStats>> getPipeline() {
+        return ResponseEntity.ok(crawlerService.getPipelineStats());
+    }
 }
\ No newline at end of file
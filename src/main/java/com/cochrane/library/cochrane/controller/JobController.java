@@ -0,0 +1,47 @@
+package com.cochrane.library.cochrane.controller;
+
+import com.cochrane.library.cochrane.model.ExecutorStats;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    @Autowired
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Recently submitted crawl, retry and recrawl jobs, newest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<Job>> getJobs() {
+        return ResponseEntity.ok(jobService.recent());
+    }
+
+    /**
+     * Pool size, active threads, queue depth and rejections per job executor.
+     */
+    @GetMapping("/executors")
+    public ResponseEntity<List<ExecutorStats>> getExecutors() {
+        return ResponseEntity.ok(jobService.executorStats());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable String id) {
+        Job job = jobService.get(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+}
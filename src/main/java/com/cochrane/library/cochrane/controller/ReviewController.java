@@ -1,19 +1,34 @@
 package com.cochrane.library.cochrane.controller;
 
 import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.FacetBrowseResult;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.model.ReviewSection;
+import com.cochrane.library.cochrane.config.CrawlerConfig;
 import com.cochrane.library.cochrane.service.CrawlerService;
+import com.cochrane.library.cochrane.service.FacetService;
+import com.cochrane.library.cochrane.service.JobService;
+import com.cochrane.library.cochrane.service.ReviewQueryService;
+import com.cochrane.library.cochrane.service.ReviewRefreshService;
 import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -21,11 +36,23 @@ public class ReviewController {
 
     private final CochraneReviewRepository reviewRepository;
     private final CrawlerService crawlerService;
+    private final ReviewQueryService reviewQueryService;
+    private final FacetService facetService;
+    private final JobService jobService;
+    private final ReviewRefreshService refreshService;
+    private final CrawlerConfig crawlerConfig;
 
     @Autowired
-    public ReviewController(CochraneReviewRepository reviewRepository, CrawlerService crawlerService) {
+    public ReviewController(CochraneReviewRepository reviewRepository, CrawlerService crawlerService,
+            ReviewQueryService reviewQueryService, FacetService facetService, JobService jobService,
+            ReviewRefreshService refreshService, CrawlerConfig crawlerConfig) {
         this.reviewRepository = reviewRepository;
         this.crawlerService = crawlerService;
+        this.reviewQueryService = reviewQueryService;
+        this.facetService = facetService;
+        this.jobService = jobService;
+        this.refreshService = refreshService;
+        this.crawlerConfig = crawlerConfig;
     }
 
     @GetMapping
@@ -33,19 +60,14 @@ public class ReviewController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String topic,
-            @RequestParam(required = false) String searchTerm) {
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedTo) {
 
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by("publicationDate").descending());
-        Page<CochraneReview> reviews;
-
-        if (topic != null && !topic.isEmpty()) {
-            reviews = reviewRepository.findByTopic(topic, pageRequest);
-        } else if (searchTerm != null && !searchTerm.isEmpty()) {
-            reviews = reviewRepository.findByTitleContainingIgnoreCaseOrAuthorsContainingIgnoreCase(
-                    searchTerm, searchTerm, pageRequest);
-        } else {
-            reviews = reviewRepository.findAll(pageRequest);
-        }
+        Page<CochraneReview> reviews = reviewQueryService.findReviews(topic, searchTerm, author, publishedFrom,
+                publishedTo, pageRequest);
 
         return ResponseEntity.ok(reviews);
     }
@@ -57,45 +79,92 @@ public class ReviewController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<List<ReviewSection>> getReviewSections(@PathVariable Long id) {
+        return reviewRepository.findById(id)
+                .map(review -> ResponseEntity.ok(List.copyOf(review.getSections())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Faceted browse: reviews filtered by any combination of topic, publication
+     * year and author, with the counts for each facet.
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<FacetBrowseResult> browse(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String author) {
+        return ResponseEntity.ok(facetService.browse(topic, year, author, PageRequest.of(page, size)));
+    }
+
     @GetMapping("/topics")
     public ResponseEntity<List<String>> getAllTopics() {
-        List<String> topics = reviewRepository.findAllTopics();
-        return ResponseEntity.ok(topics);
+        return ResponseEntity.ok(reviewQueryService.topicNames());
     }
 
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Get total reviews
-        long totalReviews = reviewRepository.count();
-        stats.put("totalReviews", totalReviews);
-
-        // Get counts by status
-        long failedContent = reviewRepository.countByCrawlStatus(CochraneReview.CrawlStatus.FAILED);
-        long pendingContent = reviewRepository.countByCrawlStatus(CochraneReview.CrawlStatus.PENDING);
-        stats.put("failedContent", failedContent);
-        stats.put("pendingContent", pendingContent);
-
-        // Get reviews by topic
-        Map<String, Long> reviewsByTopic = reviewRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        CochraneReview::getTopic,
-                        Collectors.counting()));
-        stats.put("reviewsByTopic", reviewsByTopic);
-
-        return stats;
+        return reviewQueryService.stats();
     }
 
+    /**
+     * Redrives the transiently dead-lettered URLs and the reviews whose content
+     * extraction failed in a RETRY_FAILED job, and answers 202 with the job to
+     * poll at /api/jobs/{id}; its result carries totalFailed, retriedCount,
+     * deferred and stillFailing. 503 when the retry queue is full.
+     */
     @PostMapping("/retry-failed")
-    public ResponseEntity<Map<String, Object>> retryFailedContent() {
-        List<CochraneReview> failedReviews = reviewRepository.findByCrawlStatus(CochraneReview.CrawlStatus.FAILED);
-        int retriedCount = crawlerService.retryFailedContent(failedReviews);
+    public ResponseEntity<Job> retryFailedContent() {
+        Job job = jobService.submit(Job.Type.RETRY_FAILED, "redrive failed reviews", crawlerService::redriveFailed);
+        if (job.getStatus() == Job.Status.REJECTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(job);
+        }
+        return ResponseEntity.accepted().header("Location", "/api/jobs/" + job.getId()).body(job);
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("retriedCount", retriedCount);
-        response.put("totalFailed", failedReviews.size());
+    /**
+     * Re-fetches one stored review, found by DOI or URL, ahead of the
+     * background crawl (see ReviewRefreshService), and answers with the
+     * updated review. 202 when it takes longer than
+     * crawler.refresh-timeout-millis (the refresh goes on, the review can be
+     * read at its Location later), 503 when the priority queue is full or the
+     * origin's circuit is open, 502 when the fetch failed.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<CochraneReview> refreshReview(
+            @RequestParam(required = false) String url,
+            @RequestParam(required = false) String doi) {
+        if ((url == null || url.isEmpty()) && (doi == null || doi.isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Long> reviewId = refreshService.findReviewId(url, doi);
+        if (reviewId.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Long id = reviewId.get();
 
-        return ResponseEntity.ok(response);
+        CompletableFuture<Boolean> refresh;
+        try {
+            refresh = refreshService.refresh(id);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+        }
+        try {
+            refresh.get(crawlerConfig.getRefreshTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return ResponseEntity.accepted().header("Location", "/api/reviews/" + id).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(ReviewRefreshService.isOriginUnavailable(e.getCause())
+                    ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_GATEWAY).build();
+        }
+        return reviewRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.cochrane.library.cochrane.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot served by /api/admin/perf and the apiperf Actuator endpoint:
+ * per-endpoint latency, slowest first, and the slowest individual requests.
+ */
+public class ApiPerformanceReport {
+    private LocalDateTime since;
+    private List<EndpointPerformance> endpoints;
+    private List<SlowRequest> slowestRequests;
+
+    public ApiPerformanceReport() {
+    }
+
+    public ApiPerformanceReport(LocalDateTime since, List<EndpointPerformance> endpoints,
+            List<SlowRequest> slowestRequests) {
+        this.since = since;
+        this.endpoints = endpoints;
+        this.slowestRequests = slowestRequests;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public List<EndpointPerformance> getEndpoints() {
+        return endpoints;
+    }
+
+    public List<SlowRequest> getSlowestRequests() {
+        return slowestRequests;
+    }
+}
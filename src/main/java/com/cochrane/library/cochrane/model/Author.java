@@ -0,0 +1,40 @@
+package com.cochrane.library.cochrane.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * A review author, stored once and linked to reviews through review_authors.
+ * reviewCount is the precomputed size of the author facet, refreshed after
+ * each crawl by FacetService.
+ */
+@Data
+@Entity
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_review_count", columnList = "review_count")
+})
+public class Author {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 200, nullable = false)
+    private String name;
+
+    @JsonIgnore
+    @Column(name = "name_key", length = 200, nullable = false, unique = true)
+    private String nameKey;
+
+    @Column(name = "review_count")
+    private long reviewCount;
+
+    public Author() {
+    }
+
+    public Author(String name) {
+        this.name = name;
+        this.nameKey = FacetKeys.fold(name);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cochrane.library.cochrane.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the circuit breaker for one crawled host.
+ */
+public class CircuitBreakerStatus {
+    private String host;
+    private String state; // CLOSED, OPEN or HALF_OPEN
+    private int calls; // outcomes in the sliding window
+    private double failureRate; // percent of the window
+    private LocalDateTime openedAt; // last time it opened
+    private int timesOpened;
+
+    public CircuitBreakerStatus() {
+    }
+
+    public CircuitBreakerStatus(String host, String state, int calls, double failureRate, LocalDateTime openedAt,
+            int timesOpened) {
+        this.host = host;
+        this.state = state;
+        this.calls = calls;
+        this.failureRate = failureRate;
+        this.openedAt = openedAt;
+        this.timesOpened = timesOpened;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getCalls() {
+        return calls;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public LocalDateTime getOpenedAt() {
+        return openedAt;
+    }
+
+    public int getTimesOpened() {
+        return timesOpened;
+    }
+}
@@ -6,20 +6,40 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import jakarta.persistence.*;
 
 @Data
 @Entity
-@Table(name = "cochrane_reviews")
+@Table(name = "cochrane_reviews", indexes = {
+        @Index(name = "idx_reviews_next_crawl_at", columnList = "next_crawl_at"),
+        @Index(name = "idx_reviews_publication_date", columnList = "publication_date"),
+        @Index(name = "idx_reviews_publication_year", columnList = "publication_year"),
+        @Index(name = "idx_reviews_doi", columnList = "doi"),
+        @Index(name = "idx_reviews_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_reviews_duplicate_of", columnList = "duplicate_of_id"),
+        @Index(name = "idx_reviews_first_crawled_at", columnList = "first_crawled_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reviews_url_generation", columnNames = { "url", "is_shadow" })
+})
+// Rows of a full refresh still being crawled are invisible to every JPA read
+@SQLRestriction("is_shadow = false")
 public class CochraneReview {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(length = 500, unique = true)
+    @Column(length = 500)
     private String url;
 
     private String topic;
@@ -31,9 +51,60 @@ public class CochraneReview {
 
     private LocalDate publicationDate;
 
+    // Derived from publicationDate for the year facet
+    @Column(name = "publication_year")
+    private Integer publicationYear;
+
+    @Column(name = "updated_date")
+    private LocalDate updatedDate;
+
+    @Column(length = 100)
+    private String doi;
+
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    @Column(name = "abstract_text", columnDefinition = "TEXT")
+    private String abstractText;
+
+    @Column(name = "plain_language_summary", columnDefinition = "TEXT")
+    private String plainLanguageSummary;
+
+    // Authors in page order, normalized into the authors table. Author lookups
+    // hit the case-folded authors.name_key and the indexed link table instead
+    // of a LIKE over the joined authors string.
+    @ManyToMany
+    @JoinTable(name = "review_authors", joinColumns = @JoinColumn(name = "review_id"),
+            inverseJoinColumns = @JoinColumn(name = "author_id"), indexes = {
+                    @Index(name = "idx_review_authors_author", columnList = "author_id")
+            })
+    @OrderColumn(name = "author_order")
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Author> authorList = new ArrayList<>();
+
+    // Every topic listing the review; topic above is the one it was first found under
+    @ManyToMany
+    @JoinTable(name = "review_topics", joinColumns = @JoinColumn(name = "review_id"),
+            inverseJoinColumns = @JoinColumn(name = "topic_id"), indexes = {
+                    @Index(name = "idx_review_topics_topic", columnList = "topic_id")
+            })
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Topic> topics = new ArrayList<>();
+
+    // Served by /api/reviews/{id}/sections, kept out of the list payloads
+    @JsonIgnore
+    @ElementCollection
+    @CollectionTable(name = "review_sections", joinColumns = @JoinColumn(name = "review_id"))
+    @OrderColumn(name = "section_order")
+    @BatchSize(size = 50)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<ReviewSection> sections = new ArrayList<>();
+
     @Column(name = "last_updated")
     private LocalDate lastUpdated;
 
@@ -41,6 +112,55 @@ public class CochraneReview {
     @Enumerated(EnumType.STRING)
     private CrawlStatus crawlStatus = CrawlStatus.PENDING;
 
+    // True while the row belongs to the shadow generation of a running full
+    // refresh; see ReviewGenerationService
+    @JsonIgnore
+    @Column(name = "is_shadow", nullable = false)
+    private boolean shadow;
+
+    // Set on live rows a running full refresh found unchanged: they survive the
+    // generation swap instead of being rewritten into the shadow generation
+    @JsonIgnore
+    @Column(name = "carried_over", nullable = false)
+    private boolean carriedOver;
+
+    // Content fingerprints, see ContentFingerprints: an exact hash of the
+    // normalized extracted text and a SimHash for near-duplicates
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "sim_hash")
+    private Long simHash;
+
+    // The review this one duplicates (same text) or nearly duplicates (another
+    // DOI version with almost the same text). Exact duplicates don't keep
+    // their own copy of the text.
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    // When the crawler first stored this review, kept across refreshes; the
+    // reviews a crawl added are the ones first crawled after it started
+    @Column(name = "first_crawled_at")
+    private LocalDateTime firstCrawledAt;
+
+    // Recrawl bookkeeping: how often the page was re-checked and how often it
+    // actually changed, used to derive an adaptive revisit interval.
+
+    @Column(name = "last_checked_at")
+    private LocalDateTime lastCheckedAt;
+
+    @Column(name = "next_crawl_at")
+    private LocalDateTime nextCrawlAt;
+
+    @Column(name = "revisit_interval_minutes")
+    private long revisitIntervalMinutes;
+
+    @Column(name = "check_count")
+    private int checkCount;
+
+    @Column(name = "change_count")
+    private int changeCount;
+
     public enum CrawlStatus {
         PENDING,
         COMPLETED,
@@ -57,7 +177,7 @@ public class CochraneReview {
         this.topic = topic;
         this.title = title;
         this.authors = authors;
-        this.publicationDate = publicationDate;
+        setPublicationDate(publicationDate);
     }
 
     public void setContent(String content) {
@@ -118,6 +238,7 @@ public class CochraneReview {
 
     public void setPublicationDate(LocalDate publicationDate) {
         this.publicationDate = publicationDate;
+        this.publicationYear = publicationDate != null ? publicationDate.getYear() : null;
     }
 
     public String getContent() {
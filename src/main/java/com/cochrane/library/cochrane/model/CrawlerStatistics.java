@@ -19,6 +19,8 @@ public class CrawlerStatistics {
     private int totalProcessed;
     private int successfulReviews;
     private int failedReviews;
+    private int unchangedReviews;
+    private int truncatedPages;
     private int totalTopics;
     private int processedTopics;
 
@@ -7,7 +7,8 @@ public class CrawlerStatus {
     private boolean isRunning;
     private LocalDateTime lastRun;
     private int totalProcessed;
-    private List<CochraneReview> newReviews;
+    private List<ReviewSummary> newReviews; // newest additions only, see newReviewCount
+    private int newReviewCount;
     private double crawlingSpeed;
     private String currentTopic;
     private String currentReview;
@@ -15,6 +16,9 @@ public class CrawlerStatus {
     private String processedTopics;
     private int successfulReviews;
     private int failedReviews;
+    private int unchangedReviews; // re-crawled with identical content, not written
+    private int truncatedPages; // body cut off at crawler.max-body-bytes
+    private List<PipelineStageStats> pipelineStages;
 
     public CrawlerStatus() {
     }
@@ -43,14 +47,22 @@ public class CrawlerStatus {
         this.totalProcessed = totalProcessed;
     }
 
-    public List<CochraneReview> getNewReviews() {
+    public List<ReviewSummary> getNewReviews() {
         return newReviews;
     }
 
-    public void setNewReviews(List<CochraneReview> newReviews) {
+    public void setNewReviews(List<ReviewSummary> newReviews) {
         this.newReviews = newReviews;
     }
 
+    public int getNewReviewCount() {
+        return newReviewCount;
+    }
+
+    public void setNewReviewCount(int newReviewCount) {
+        this.newReviewCount = newReviewCount;
+    }
+
     public double getCrawlingSpeed() {
         return crawlingSpeed;
     }
@@ -106,4 +118,28 @@ public class CrawlerStatus {
     public void setFailedReviews(int failedReviews) {
         this.failedReviews = failedReviews;
     }
+
+    public int getUnchangedReviews() {
+        return unchangedReviews;
+    }
+
+    public void setUnchangedReviews(int unchangedReviews) {
+        this.unchangedReviews = unchangedReviews;
+    }
+
+    public int getTruncatedPages() {
+        return truncatedPages;
+    }
+
+    public void setTruncatedPages(int truncatedPages) {
+        this.truncatedPages = truncatedPages;
+    }
+
+    public List<PipelineStageStats> getPipelineStages() {
+        return pipelineStages;
+    }
+
+    public void setPipelineStages(List<PipelineStageStats> pipelineStages) {
+        this.pipelineStages = pipelineStages;
+    }
 }
\ No newline at end of file
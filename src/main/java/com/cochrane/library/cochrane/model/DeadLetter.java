@@ -0,0 +1,52 @@
+package com.cochrane.library.cochrane.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * A review URL whose detail page could not be fetched, with its recent
+ * failures. Permanent failures (404, 410, ...) are skipped by later crawls;
+ * transient ones are picked up by the redrive job. The row is removed once
+ * the page is stored.
+ */
+@Data
+@Entity
+@Table(name = "dead_letters", indexes = {
+        @Index(name = "idx_dead_letters_permanent", columnList = "permanent")
+})
+public class DeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 500, unique = true, nullable = false)
+    private String url;
+
+    private String topic;
+
+    // the last failure was permanent, retrying won't help
+    private boolean permanent;
+
+    private int lastStatusCode; // 0 when no HTTP response was received
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private int failureCount;
+    private LocalDateTime firstFailedAt;
+    private LocalDateTime lastFailedAt;
+
+    // newest last, one "timestamp status error" line per failure, at most
+    // crawler.dead-letter-history-size lines
+    @Column(columnDefinition = "TEXT")
+    private String failureHistory;
+
+    public DeadLetter() {
+    }
+
+    public DeadLetter(String url, String topic) {
+        this.url = url;
+        this.topic = topic;
+    }
+}
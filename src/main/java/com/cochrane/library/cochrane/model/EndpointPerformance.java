@@ -0,0 +1,76 @@
+package com.cochrane.library.cochrane.model;
+
+/**
+ * Latency and response size of one API endpoint (method + path pattern) since
+ * the monitor was started or last reset. Percentiles come from a log-scale
+ * histogram and are accurate to about 12%.
+ */
+public class EndpointPerformance {
+    private String endpoint;
+    private long count;
+    private long errors; // 5xx responses and requests that threw
+    private double meanMs;
+    private double p50Ms;
+    private double p95Ms;
+    private double p99Ms;
+    private double maxMs;
+    private long meanResponseBytes;
+    private long maxResponseBytes;
+
+    public EndpointPerformance() {
+    }
+
+    public EndpointPerformance(String endpoint, long count, long errors, double meanMs, double p50Ms, double p95Ms,
+            double p99Ms, double maxMs, long meanResponseBytes, long maxResponseBytes) {
+        this.endpoint = endpoint;
+        this.count = count;
+        this.errors = errors;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+        this.meanResponseBytes = meanResponseBytes;
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public long getMeanResponseBytes() {
+        return meanResponseBytes;
+    }
+
+    public long getMaxResponseBytes() {
+        return maxResponseBytes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.cochrane.library.cochrane.model;
+
+/**
+ * Point-in-time view of one job executor: a full queue with every thread
+ * active means jobs of that kind are being rejected or waiting.
+ */
+public class ExecutorStats {
+    private String name;
+    private int poolSize;
+    private int activeThreads;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+
+    public ExecutorStats() {
+    }
+
+    public ExecutorStats(String name, int poolSize, int activeThreads, int queued, int queueCapacity,
+            long completed, long rejected) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,60 @@
+package com.cochrane.library.cochrane.model;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * A page of reviews matching the active topic/year/author filters, plus the
+ * counts for each facet. Each facet is counted under the other two filters, so
+ * the UI can offer the alternatives to the current selection.
+ */
+public class FacetBrowseResult {
+    private Page<CochraneReview> reviews;
+    private List<FacetValue> topics;
+    private List<FacetValue> years;
+    private List<FacetValue> authors;
+
+    public FacetBrowseResult() {
+    }
+
+    public FacetBrowseResult(Page<CochraneReview> reviews, List<FacetValue> topics, List<FacetValue> years,
+            List<FacetValue> authors) {
+        this.reviews = reviews;
+        this.topics = topics;
+        this.years = years;
+        this.authors = authors;
+    }
+
+    public Page<CochraneReview> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(Page<CochraneReview> reviews) {
+        this.reviews = reviews;
+    }
+
+    public List<FacetValue> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(List<FacetValue> topics) {
+        this.topics = topics;
+    }
+
+    public List<FacetValue> getYears() {
+        return years;
+    }
+
+    public void setYears(List<FacetValue> years) {
+        this.years = years;
+    }
+
+    public List<FacetValue> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<FacetValue> authors) {
+        this.authors = authors;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cochrane.library.cochrane.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Case-folded lookup keys for facet values, so "Allergy &amp; Intolerance" and
+ * "allergy &amp;  intolerance" resolve to the same indexed row.
+ */
+public final class FacetKeys {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private FacetKeys() {
+    }
+
+    public static String fold(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,44 @@
+package com.cochrane.library.cochrane.model;
+
+/**
+ * One value of a browse facet with the number of reviews behind it. key is what
+ * the browse API accepts back as a filter.
+ */
+public class FacetValue {
+    private String key;
+    private String label;
+    private long count;
+
+    public FacetValue() {
+    }
+
+    public FacetValue(String key, String label, long count) {
+        this.key = key;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
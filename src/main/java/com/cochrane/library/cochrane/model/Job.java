@@ -0,0 +1,100 @@
+package com.cochrane.library.cochrane.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A unit of background work (crawl, retry, recrawl tick, corpus snapshot)
+ * submitted to one of
+ * the job executors. Updated by the worker thread and read by
+ * /api/jobs/{id}, hence the volatile fields.
+ */
+public class Job {
+
+    public enum Type {
+        CRAWL,
+        RETRY_FAILED,
+        RECRAWL,
+        SNAPSHOT
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        REJECTED // the executor's queue was full
+    }
+
+    private final String id;
+    private final Type type;
+    private final String description;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Object result;
+    private volatile String error;
+
+    public Job(String id, Type type, String description) {
+        this.id = id;
+        this.type = type;
+        this.description = description;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public void setResult(Object result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,57 @@
+package com.cochrane.library.cochrane.model;
+
+/**
+ * Point-in-time view of one crawl pipeline stage, used to spot the bottleneck:
+ * a full input queue with high utilization is the slow stage.
+ */
+public class PipelineStageStats {
+    private String name;
+    private int workers;
+    private int busyWorkers;
+    private int queueDepth;
+    private int queueCapacity;
+    private long processed;
+    private double utilization; // share of worker time spent processing, 0..1
+
+    public PipelineStageStats() {
+    }
+
+    public PipelineStageStats(String name, int workers, int busyWorkers, int queueDepth, int queueCapacity,
+            long processed, double utilization) {
+        this.name = name;
+        this.workers = workers;
+        this.busyWorkers = busyWorkers;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.processed = processed;
+        this.utilization = utilization;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getBusyWorkers() {
+        return busyWorkers;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+}
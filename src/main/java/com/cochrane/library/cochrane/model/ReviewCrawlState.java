@@ -0,0 +1,31 @@
+package com.cochrane.library.cochrane.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * When a stored review was last fetched, without its text. Sitemap discovery
+ * compares it with the sitemap's lastmod to find changed reviews.
+ */
+public class ReviewCrawlState {
+    private final String url;
+    private final String topic;
+    private final LocalDateTime lastCheckedAt;
+
+    public ReviewCrawlState(String url, String topic, LocalDateTime lastCheckedAt) {
+        this.url = url;
+        this.topic = topic;
+        this.lastCheckedAt = lastCheckedAt;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public LocalDateTime getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cochrane.library.cochrane.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+/**
+ * One headed section of a review page (Background, Objectives, Main results,
+ * ...), stored in page order in review_sections.
+ */
+@Data
+@Embeddable
+public class ReviewSection {
+
+    @Column(length = 500)
+    private String heading;
+
+    @Column(name = "section_text", columnDefinition = "TEXT")
+    private String text;
+
+    public ReviewSection() {
+    }
+
+    public ReviewSection(String heading, String text) {
+        this.heading = heading;
+        this.text = text;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cochrane.library.cochrane.model;
+
+/**
+ * The few fields of a review the dashboard lists, without its text. Used for
+ * the crawler's recent additions so neither the status nor its history holds
+ * whole entities.
+ */
+public class ReviewSummary {
+    private Long id;
+    private String title;
+    private String topic;
+    private CochraneReview.CrawlStatus crawlStatus;
+
+    public ReviewSummary() {
+    }
+
+    public ReviewSummary(Long id, String title, String topic, CochraneReview.CrawlStatus crawlStatus) {
+        this.id = id;
+        this.title = title;
+        this.topic = topic;
+        this.crawlStatus = crawlStatus;
+    }
+
+    public static ReviewSummary of(CochraneReview review) {
+        return new ReviewSummary(review.getId(), review.getTitle(), review.getTopic(), review.getCrawlStatus());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public CochraneReview.CrawlStatus getCrawlStatus() {
+        return crawlStatus;
+    }
+
+    public void setCrawlStatus(CochraneReview.CrawlStatus crawlStatus) {
+        this.crawlStatus = crawlStatus;
+    }
+}
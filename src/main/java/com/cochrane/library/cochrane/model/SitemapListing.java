@@ -0,0 +1,36 @@
+package com.cochrane.library.cochrane.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Remembers when a sitemap was last read and the lastmod its sitemap index
+ * gave it then, so a sitemap the index reports unchanged is not fetched again.
+ */
+@Data
+@Entity
+@Table(name = "sitemap_listings")
+public class SitemapListing {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 1000, unique = true)
+    private String sitemapUrl;
+
+    private boolean sitemapIndex;
+
+    private LocalDateTime lastModified; // lastmod from the index when last read, null if none
+    private int entries; // <url> or <sitemap> entries on the last read
+    private int reviewsQueued; // reviews queued from it on the last read
+
+    private LocalDateTime lastCheckedAt;
+
+    public SitemapListing() {
+    }
+
+    public SitemapListing(String sitemapUrl) {
+        this.sitemapUrl = sitemapUrl;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cochrane.library.cochrane.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the slowest API requests seen, with its query string so the
+ * dashboard query behind it can be replayed.
+ */
+public class SlowRequest {
+    private String endpoint;
+    private String uri;
+    private String query;
+    private int status;
+    private double durationMs;
+    private long responseBytes;
+    private LocalDateTime at;
+
+    public SlowRequest() {
+    }
+
+    public SlowRequest(String endpoint, String uri, String query, int status, double durationMs,
+            long responseBytes, LocalDateTime at) {
+        this.endpoint = endpoint;
+        this.uri = uri;
+        this.query = query;
+        this.status = status;
+        this.durationMs = durationMs;
+        this.responseBytes = responseBytes;
+        this.at = at;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public double getDurationMs() {
+        return durationMs;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+}
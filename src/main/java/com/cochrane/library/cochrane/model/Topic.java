@@ -0,0 +1,38 @@
+package com.cochrane.library.cochrane.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * A Cochrane topic, stored once and linked to reviews through review_topics.
+ * reviewCount is the precomputed size of the topic facet, refreshed after each
+ * crawl by FacetService.
+ */
+@Data
+@Entity
+@Table(name = "topics")
+public class Topic {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 255, nullable = false)
+    private String name;
+
+    @JsonIgnore
+    @Column(name = "name_key", length = 255, nullable = false, unique = true)
+    private String nameKey;
+
+    @Column(name = "review_count")
+    private long reviewCount;
+
+    public Topic() {
+    }
+
+    public Topic(String name) {
+        this.name = name;
+        this.nameKey = FacetKeys.fold(name);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cochrane.library.cochrane.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Remembers what a topic listing looked like on the last crawl so that an
+ * unchanged listing can be skipped after a single request.
+ */
+@Data
+@Entity
+@Table(name = "topic_listings")
+public class TopicListing {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 1000, unique = true)
+    private String topicUrl;
+
+    private String topicName;
+
+    @Column(length = 64)
+    private String fingerprint; // SHA-256 of the ordered review links on the first page
+
+    private int firstPageSize;
+    private int pagesFetched; // listing pages fetched on the last crawl
+    private int newReviewsFound; // reviews discovered on the last crawl
+
+    private LocalDateTime lastCheckedAt;
+    private LocalDateTime lastChangedAt;
+
+    public TopicListing() {
+    }
+
+    public TopicListing(String topicUrl, String topicName) {
+        this.topicUrl = topicUrl;
+        this.topicName = topicName;
+    }
+}
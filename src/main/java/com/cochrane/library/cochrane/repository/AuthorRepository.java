@@ -0,0 +1,42 @@
+package com.cochrane.library.cochrane.repository;
+
+import com.cochrane.library.cochrane.model.Author;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true) // queries use the read pool, see DataSourceConfig
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    /**
+     * Find authors by their case-folded name keys
+     *
+     * @param nameKeys Keys as produced by FacetKeys.fold
+     * @return The authors that already exist
+     */
+    List<Author> findByNameKeyIn(Collection<String> nameKeys);
+
+    /**
+     * Most prolific authors first, from the precomputed counts
+     */
+    List<Author> findByReviewCountGreaterThanOrderByReviewCountDescNameAsc(long minCount, Pageable pageable);
+
+    /**
+     * Recomputes every author's live review count from the link table
+     *
+     * @return Number of authors updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE authors a SET review_count = (SELECT COUNT(*) FROM review_authors ra "
+            + "JOIN cochrane_reviews r ON r.id = ra.review_id "
+            + "WHERE ra.author_id = a.id AND r.is_shadow = FALSE)", nativeQuery = true)
+    int refreshReviewCounts();
+}
@@ -1,16 +1,26 @@
 package com.cochrane.library.cochrane.repository;
 
 import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.ReviewCrawlState;
+import com.cochrane.library.cochrane.model.ReviewSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true) // queries use the read pool, see DataSourceConfig
 public interface CochraneReviewRepository extends JpaRepository<CochraneReview, Long> {
 
     /**
@@ -47,6 +57,14 @@ public interface CochraneReviewRepository extends JpaRepository<CochraneReview,
 
     boolean existsByUrl(String url);
 
+    /**
+     * When each of the given (live) reviews was last fetched, for comparing
+     * with sitemap lastmod dates without loading the reviews
+     */
+    @Query("SELECT new com.cochrane.library.cochrane.model.ReviewCrawlState(r.url, r.topic, r.lastCheckedAt) "
+            + "FROM CochraneReview r WHERE r.url IN :urls")
+    List<ReviewCrawlState> findCrawlStates(@Param("urls") Collection<String> urls);
+
     Page<CochraneReview> findByTopic(String topic, Pageable pageable);
 
     Page<CochraneReview> findByTitleContainingIgnoreCaseOrAuthorsContainingIgnoreCase(
@@ -58,4 +76,175 @@ public interface CochraneReviewRepository extends JpaRepository<CochraneReview,
     long countByCrawlStatus(CochraneReview.CrawlStatus status);
 
     List<CochraneReview> findByCrawlStatus(CochraneReview.CrawlStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Find reviews whose revisit time has passed (or was never scheduled),
+     * oldest due first
+     *
+     * @param now      The reference time
+     * @param pageable Limits how many candidates are loaded per tick
+     * @return Reviews that are due for a recrawl
+     */
+    @Query("SELECT r FROM CochraneReview r WHERE r.nextCrawlAt IS NULL OR r.nextCrawlAt <= :now "
+            + "ORDER BY r.nextCrawlAt ASC NULLS FIRST")
+    List<CochraneReview> findDueForRecrawl(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Find a review by its DOI
+     *
+     * @param doi The bare DOI, e.g. 10.1002/14651858.CD012345.pub2
+     * @return Optional containing the review if found, empty otherwise
+     */
+    Optional<CochraneReview> findByDoi(String doi);
+
+    /**
+     * The id of the review with this DOI, without loading the entity
+     */
+    @Query("SELECT r.id FROM CochraneReview r WHERE r.doi = :doi")
+    Optional<Long> findIdByDoi(@Param("doi") String doi);
+
+    /**
+     * The id of the review stored under this URL, without loading the entity
+     */
+    @Query("SELECT r.id FROM CochraneReview r WHERE r.url = :url")
+    Optional<Long> findIdByUrl(@Param("url") String url);
+
+    /**
+     * Find reviews listing the given author, via the case-folded name key
+     *
+     * @param authorKey The author's key as produced by FacetKeys.fold
+     * @param pageable  Paging and sorting
+     * @return Reviews the author contributed to
+     */
+    @Query(value = "SELECT r FROM CochraneReview r JOIN r.authorList a WHERE a.nameKey = :authorKey",
+            countQuery = "SELECT COUNT(r) FROM CochraneReview r JOIN r.authorList a WHERE a.nameKey = :authorKey")
+    Page<CochraneReview> findByAuthorKey(@Param("authorKey") String authorKey, Pageable pageable);
+
+    /**
+     * Find reviews linked to the given topic, via the case-folded name key
+     *
+     * @param topicKey The topic's key as produced by FacetKeys.fold
+     * @param pageable Paging and sorting
+     * @return Reviews listed under the topic
+     */
+    @Query(value = "SELECT r FROM CochraneReview r JOIN r.topics t WHERE t.nameKey = :topicKey",
+            countQuery = "SELECT COUNT(r) FROM CochraneReview r JOIN r.topics t WHERE t.nameKey = :topicKey")
+    Page<CochraneReview> findByTopicKey(@Param("topicKey") String topicKey, Pageable pageable);
+
+    /**
+     * Find another review with exactly the same content fingerprint
+     *
+     * @param contentHash The fingerprint to look for (indexed)
+     * @param url         The review's own URL, excluded from the match
+     * @return Optional containing a stored duplicate, empty otherwise
+     */
+    Optional<CochraneReview> findFirstByContentHashAndUrlNot(String contentHash, String url);
+
+    /**
+     * Find all versions of a review by DOI prefix, e.g. 10.1002/14651858.CD012345
+     * (indexed prefix match)
+     */
+    List<CochraneReview> findByDoiStartingWith(String doiPrefix);
+
+    /**
+     * Flags live reviews a running full refresh found unchanged, so the
+     * generation swap keeps them
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CochraneReview r SET r.carriedOver = true WHERE r.id IN :ids")
+    int markCarriedOver(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find reviews published within a date range (inclusive, indexed)
+     */
+    Page<CochraneReview> findByPublicationDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    /**
+     * Summaries of the reviews first stored at or after the given time, newest
+     * first, without loading their text
+     */
+    @Query(value = "SELECT new com.cochrane.library.cochrane.model.ReviewSummary(r.id, r.title, r.topic, r.crawlStatus) "
+            + "FROM CochraneReview r WHERE r.firstCrawledAt >= :since ORDER BY r.firstCrawledAt DESC, r.id DESC",
+            countQuery = "SELECT COUNT(r) FROM CochraneReview r WHERE r.firstCrawledAt >= :since")
+    Page<ReviewSummary> findSummariesFirstCrawledSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * The distinct topics reviews were first found under, in the order they
+     * first appeared.
+     */
+    @Query("SELECT r.topic FROM CochraneReview r GROUP BY r.topic ORDER BY MIN(r.id)")
+    List<String> findDistinctTopics();
+
+    /**
+     * Every review as a summary, newest publication first, for streaming
+     * exports. The stream must be consumed and closed within the transaction.
+     */
+    @Query("SELECT new com.cochrane.library.cochrane.model.ReviewSummary(r.id, r.title, r.topic, r.crawlStatus) "
+            + "FROM CochraneReview r ORDER BY r.publicationDate DESC, r.id DESC")
+    Stream<ReviewSummary> streamSummaries();
+
+    /**
+     * Summaries of the reviews listed under the topic, newest publication
+     * first, for streaming exports
+     *
+     * @param topicKey The topic's key as produced by FacetKeys.fold
+     */
+    @Query("SELECT new com.cochrane.library.cochrane.model.ReviewSummary(r.id, r.title, r.topic, r.crawlStatus) "
+            + "FROM CochraneReview r JOIN r.topics t WHERE t.nameKey = :topicKey "
+            + "ORDER BY r.publicationDate DESC, r.id DESC")
+    Stream<ReviewSummary> streamSummariesByTopicKey(@Param("topicKey") String topicKey);
+
+    // Generation swap for full refreshes. These are native on purpose: the
+    // entity's @SQLRestriction hides shadow rows from JPQL. Live rows flagged
+    // carried_over were found unchanged and survive the swap. Collection tables
+    // referencing the reviews are cleared first, see ReviewGenerationService.
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM review_authors WHERE review_id IN (SELECT id FROM cochrane_reviews "
+            + "WHERE is_shadow = :shadow AND carried_over = FALSE)", nativeQuery = true)
+    int deleteAuthorsOfGeneration(@Param("shadow") boolean shadow);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM review_sections WHERE review_id IN (SELECT id FROM cochrane_reviews "
+            + "WHERE is_shadow = :shadow AND carried_over = FALSE)", nativeQuery = true)
+    int deleteSectionsOfGeneration(@Param("shadow") boolean shadow);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM review_topics WHERE review_id IN (SELECT id FROM cochrane_reviews "
+            + "WHERE is_shadow = :shadow AND carried_over = FALSE)", nativeQuery = true)
+    int deleteTopicLinksOfGeneration(@Param("shadow") boolean shadow);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM cochrane_reviews WHERE is_shadow = FALSE AND carried_over = FALSE",
+            nativeQuery = true)
+    int deleteLiveGeneration();
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE cochrane_reviews SET is_shadow = FALSE WHERE is_shadow = TRUE", nativeQuery = true)
+    int promoteShadowGeneration();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM cochrane_reviews WHERE is_shadow = TRUE", nativeQuery = true)
+    int deleteShadowGeneration();
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE cochrane_reviews SET carried_over = FALSE WHERE carried_over = TRUE", nativeQuery = true)
+    int clearCarriedOver();
+
+    /**
+     * Drops duplicate links whose target was replaced by the swap
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE cochrane_reviews SET duplicate_of_id = NULL WHERE duplicate_of_id IS NOT NULL "
+            + "AND duplicate_of_id NOT IN (SELECT id FROM cochrane_reviews)", nativeQuery = true)
+    int clearDanglingDuplicateLinks();
+}
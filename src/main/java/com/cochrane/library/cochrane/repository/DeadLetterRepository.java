@@ -0,0 +1,32 @@
+package com.cochrane.library.cochrane.repository;
+
+import com.cochrane.library.cochrane.model.DeadLetter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+    Optional<DeadLetter> findByUrl(String url);
+
+    List<DeadLetter> findByPermanentOrderByLastFailedAtAsc(boolean permanent);
+
+    Page<DeadLetter> findByPermanent(boolean permanent, Pageable pageable);
+
+    long countByPermanent(boolean permanent);
+
+    @Query("SELECT d.url FROM DeadLetter d WHERE d.permanent = true")
+    List<String> findPermanentUrls();
+
+    @Modifying
+    @Query("DELETE FROM DeadLetter d WHERE d.url IN :urls")
+    int deleteByUrlIn(@Param("urls") Collection<String> urls);
+}
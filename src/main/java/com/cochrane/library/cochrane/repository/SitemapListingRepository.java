@@ -0,0 +1,12 @@
+package com.cochrane.library.cochrane.repository;
+
+import com.cochrane.library.cochrane.model.SitemapListing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SitemapListingRepository extends JpaRepository<SitemapListing, Long> {
+    Optional<SitemapListing> findBySitemapUrl(String sitemapUrl);
+}
@@ -0,0 +1,62 @@
+package com.cochrane.library.cochrane.repository;
+
+import com.cochrane.library.cochrane.model.Topic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true) // queries use the read pool, see DataSourceConfig
+public interface TopicRepository extends JpaRepository<Topic, Long> {
+
+    /**
+     * Find a topic by its case-folded name key
+     *
+     * @param nameKey Key as produced by FacetKeys.fold
+     * @return Optional containing the topic if found, empty otherwise
+     */
+    Optional<Topic> findByNameKey(String nameKey);
+
+    List<Topic> findAllByOrderByNameAsc();
+
+    /**
+     * Topics that currently have reviews, alphabetically, with their
+     * precomputed counts
+     */
+    List<Topic> findByReviewCountGreaterThanOrderByNameAsc(long minCount);
+
+    /**
+     * Recomputes every topic's live review count from the link table
+     *
+     * @return Number of topics updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE topics t SET review_count = (SELECT COUNT(*) FROM review_topics rt "
+            + "JOIN cochrane_reviews r ON r.id = rt.review_id "
+            + "WHERE rt.topic_id = t.id AND r.is_shadow = FALSE)", nativeQuery = true)
+    int refreshReviewCounts();
+
+    /**
+     * Links the reviews with the given URLs to a topic unless they already
+     * are. Native so it reaches the shadow generation during a full refresh:
+     * the rows of the given generation plus the live rows carried over into it.
+     *
+     * @return Number of links added
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO review_topics (review_id, topic_id) SELECT r.id, :topicId FROM cochrane_reviews r "
+            + "WHERE r.url IN (:urls) AND (r.is_shadow = :shadow OR r.carried_over = TRUE) "
+            + "AND NOT EXISTS (SELECT 1 FROM review_topics rt WHERE rt.review_id = r.id AND rt.topic_id = :topicId)",
+            nativeQuery = true)
+    int linkReviewsByUrl(@Param("topicId") Long topicId, @Param("urls") Collection<String> urls,
+            @Param("shadow") boolean shadow);
+}
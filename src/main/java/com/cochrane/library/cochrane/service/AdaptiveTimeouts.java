@@ -0,0 +1,103 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Download times per host, and the request timeout and hedge delay derived
+ * from them.
+ *
+ * The timeout is p99 x crawler.adaptive-timeout-factor, at least
+ * crawler.adaptive-timeout-min-millis, doubled on every retry of the same
+ * URL, and never above crawler.request-timeout. The hedge delay is p95. Until
+ * a host has crawler.latency-min-samples downloads, the fixed timeout applies
+ * and nothing is hedged.
+ *
+ * Each host keeps the current and the previous window of WINDOW samples, so
+ * the estimate follows the origin when it speeds up or slows down.
+ */
+final class AdaptiveTimeouts {
+
+    private static final int WINDOW = 1000;
+
+    private final CrawlerConfig crawlerConfig;
+    private final ConcurrentMap<String, HostLatency> hosts = new ConcurrentHashMap<>();
+
+    AdaptiveTimeouts(CrawlerConfig crawlerConfig) {
+        this.crawlerConfig = crawlerConfig;
+    }
+
+    void record(String host, long durationNanos) {
+        hosts.computeIfAbsent(host, h -> new HostLatency()).record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    /**
+     * Timeout for the given attempt (1 for the first) at fetching from host.
+     */
+    int timeoutMillis(String host, int attempt) {
+        int ceiling = crawlerConfig.getRequestTimeout();
+        if (!crawlerConfig.isAdaptiveTimeout()) {
+            return ceiling;
+        }
+        long p99Micros = percentileMicros(host, 0.99);
+        if (p99Micros < 0) {
+            return ceiling;
+        }
+        long timeout = Math.max(crawlerConfig.getAdaptiveTimeoutMinMillis(),
+                (long) Math.ceil(p99Micros / 1000.0 * crawlerConfig.getAdaptiveTimeoutFactor()));
+        timeout <<= Math.min(Math.max(0, attempt - 1), 16);
+        return (int) Math.min(timeout, ceiling);
+    }
+
+    /**
+     * How long to wait for a response before sending a hedge request, or -1 to
+     * not hedge.
+     */
+    long hedgeDelayMillis(String host) {
+        if (!crawlerConfig.isHedgeRequests()) {
+            return -1;
+        }
+        long p95Micros = percentileMicros(host, 0.95);
+        return p95Micros < 0 ? -1 : Math.max(1, p95Micros / 1000);
+    }
+
+    private long percentileMicros(String host, double percentile) {
+        HostLatency latency = hosts.get(host);
+        if (latency == null) {
+            return -1;
+        }
+        LatencyHistogram histogram = latency.estimate(Math.max(1, crawlerConfig.getLatencyMinSamples()));
+        return histogram != null ? histogram.percentileMicros(percentile) : -1;
+    }
+
+    private static final class HostLatency {
+        private final AtomicLong samples = new AtomicLong();
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram previous;
+
+        void record(long micros) {
+            current.record(micros);
+            if (samples.incrementAndGet() % WINDOW == 0) {
+                previous = current;
+                current = new LatencyHistogram();
+            }
+        }
+
+        /**
+         * The current window once it has enough samples, else the previous one,
+         * else null.
+         */
+        LatencyHistogram estimate(int minSamples) {
+            LatencyHistogram window = current;
+            if (window.count() >= minSamples) {
+                return window;
+            }
+            LatencyHistogram last = previous;
+            return last != null ? last : null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.ApiPerformanceReport;
+import com.cochrane.library.cochrane.model.EndpointPerformance;
+import com.cochrane.library.cochrane.model.SlowRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and response sizes for the REST API, plus
+ * the slowest requests with their query strings. Fed by
+ * RequestLoggingInterceptor once the response has been written, so the times
+ * include serialization and failed requests.
+ *
+ * Endpoints are keyed by method and path pattern (/api/reviews/{id}), which
+ * keeps the number of histograms fixed. Recording doesn't lock unless the
+ * request is slow enough to enter the slow-request sample.
+ */
+@Service
+public class ApiPerformanceMonitor {
+
+    private static final int SLOW_REQUEST_SAMPLES = 20;
+    private static final Comparator<SlowRequest> BY_DURATION = Comparator.comparingDouble(SlowRequest::getDurationMs);
+
+    private volatile Window window = new Window();
+
+    public void record(String endpoint, String uri, String query, int status, boolean failed,
+            long durationNanos, long responseBytes) {
+        Window current = window;
+        long micros = durationNanos / 1_000;
+        long bytes = Math.max(0, responseBytes); // -1 when unknown
+        EndpointStats stats = current.endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+        stats.latency.record(micros);
+        stats.bytes.add(bytes);
+        stats.maxBytes.accumulate(bytes);
+        if (failed || status >= 500) {
+            stats.errors.increment();
+        }
+
+        double durationMs = micros / 1000.0;
+        if (durationMs > current.slowThresholdMs) {
+            current.offerSlow(new SlowRequest(endpoint, uri, query, status, durationMs, bytes,
+                    LocalDateTime.now()));
+        }
+    }
+
+    public ApiPerformanceReport report() {
+        Window current = window;
+        List<EndpointPerformance> endpoints = new ArrayList<>();
+        current.endpoints.forEach((endpoint, stats) -> {
+            LatencyHistogram latency = stats.latency;
+            long count = latency.count();
+            endpoints.add(new EndpointPerformance(endpoint, count, stats.errors.sum(),
+                    latency.meanMicros() / 1000.0,
+                    latency.percentileMicros(0.50) / 1000.0,
+                    latency.percentileMicros(0.95) / 1000.0,
+                    latency.percentileMicros(0.99) / 1000.0,
+                    latency.maxMicros() / 1000.0,
+                    count == 0 ? 0 : stats.bytes.sum() / count,
+                    stats.maxBytes.get()));
+        });
+        endpoints.sort(Comparator.comparingDouble(EndpointPerformance::getP99Ms).reversed());
+        return new ApiPerformanceReport(current.since, endpoints, current.slowest());
+    }
+
+    /**
+     * Starts a fresh measurement window.
+     */
+    public void reset() {
+        window = new Window();
+    }
+
+    private static final class EndpointStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+    }
+
+    private static final class Window {
+        final LocalDateTime since = LocalDateTime.now();
+        final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+        // min-heap of the slowest requests; its head is the bar to enter
+        final PriorityQueue<SlowRequest> slow = new PriorityQueue<>(BY_DURATION);
+        volatile double slowThresholdMs = -1;
+
+        synchronized void offerSlow(SlowRequest request) {
+            if (slow.size() < SLOW_REQUEST_SAMPLES) {
+                slow.add(request);
+            } else if (request.getDurationMs() > slow.peek().getDurationMs()) {
+                slow.poll();
+                slow.add(request);
+            }
+            if (slow.size() == SLOW_REQUEST_SAMPLES) {
+                slowThresholdMs = slow.peek().getDurationMs();
+            }
+        }
+
+        synchronized List<SlowRequest> slowest() {
+            List<SlowRequest> requests = new ArrayList<>(slow);
+            requests.sort(BY_DURATION.reversed());
+            return requests;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.cochrane.library.cochrane.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * A response body read into a single array of at most maxBytes. Reading
+ * stops at the cap (the body is then truncated) or at the first stop
+ * marker, whichever comes first. With a Content-Length within the cap the
+ * array is allocated once at its final size, so the heap a page needs is
+ * known before it is read.
+ */
+final class BoundedBody {
+
+    private static final int INITIAL_BUFFER = 64 * 1024;
+
+    private final byte[] bytes;
+    private final int length;
+    private final boolean truncated;
+    private final boolean stoppedAtMarker;
+
+    private BoundedBody(byte[] bytes, int length, boolean truncated, boolean stoppedAtMarker) {
+        this.bytes = bytes;
+        this.length = length;
+        this.truncated = truncated;
+        this.stoppedAtMarker = stoppedAtMarker;
+    }
+
+    /**
+     * @param declaredLength the Content-Length, or -1 when unknown
+     * @param stopMarkers    byte sequences after which nothing is needed; the
+     *                       body is cut before the first one found
+     */
+    static BoundedBody read(InputStream in, int maxBytes, long declaredLength, List<byte[]> stopMarkers)
+            throws IOException {
+        int cap = Math.max(0, maxBytes);
+        int longestMarker = 0;
+        for (byte[] marker : stopMarkers) {
+            longestMarker = Math.max(longestMarker, marker.length);
+        }
+
+        byte[] buffer = new byte[(int) Math.min(cap, declaredLength >= 0 ? declaredLength : INITIAL_BUFFER)];
+        int length = 0;
+        while (true) {
+            if (length == buffer.length) {
+                // probe one byte so a body that fills the buffer exactly is not copied
+                int next = in.read();
+                if (next < 0 || length >= cap) {
+                    return new BoundedBody(buffer, length, next >= 0, false);
+                }
+                // a body longer than declared (or undeclared) grows up to the cap
+                byte[] grown = new byte[(int) Math.min(cap, Math.max(2L * length, INITIAL_BUFFER))];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+                buffer[length++] = (byte) next;
+                continue;
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return new BoundedBody(buffer, length, false, false);
+            }
+            int scanFrom = Math.max(0, length - longestMarker + 1);
+            length += read;
+            int markerAt = indexOfAny(buffer, scanFrom, length, stopMarkers);
+            if (markerAt >= 0) {
+                return new BoundedBody(buffer, markerAt, false, true);
+            }
+        }
+    }
+
+    private static int indexOfAny(byte[] buffer, int from, int to, List<byte[]> markers) {
+        int first = -1;
+        for (byte[] marker : markers) {
+            int at = indexOf(buffer, from, to, marker);
+            if (at >= 0 && (first < 0 || at < first)) {
+                first = at;
+            }
+        }
+        return first;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, byte[] marker) {
+        if (marker.length == 0) {
+            return -1;
+        }
+        outer:
+        for (int i = from; i <= to - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (buffer[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    boolean isStoppedAtMarker() {
+        return stoppedAtMarker;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cochrane.library.cochrane.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content fingerprints for change and duplicate detection.
+ *
+ * {@link #textHash} is an exact hash over normalized text (case and whitespace
+ * folded), so markup-only changes to a page don't count as a change.
+ * {@link #simHash} is a 64-bit SimHash over word 3-shingles: pages that differ
+ * in a few words end up a few bits apart, which is how a new DOI version that
+ * barely changed a review is recognised.
+ */
+final class ContentFingerprints {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 10.1002/14651858.CD012345.pub2 -> 10.1002/14651858.CD012345
+    private static final Pattern DOI_VERSION = Pattern.compile("\\.pub\\d+$");
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentFingerprints() {
+    }
+
+    /**
+     * Lower-cases and collapses whitespace; the input to {@link #textHash}.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * SHA-256 of the normalized text, hex encoded.
+     */
+    static String textHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 64-bit SimHash over the word 3-shingles of the text (single words for
+     * texts shorter than a shingle).
+     */
+    static long simHash(String text) {
+        String[] words = NON_WORD.split(normalize(text));
+        int[] weights = new int[64];
+        int shingles = Math.max(1, words.length - SHINGLE_SIZE + 1);
+        for (int i = 0; i < shingles; i++) {
+            long hash = FNV_OFFSET;
+            for (int w = i; w < Math.min(words.length, i + SHINGLE_SIZE); w++) {
+                hash = fnv1a(hash, words[w]);
+                hash = (hash ^ ' ') * FNV_PRIME;
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1) != 0 ? 1 : -1;
+            }
+        }
+
+        long simHash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * The DOI without its version suffix, shared by all versions of a review.
+     */
+    static String doiStem(String doi) {
+        if (doi == null) {
+            return null;
+        }
+        Matcher m = DOI_VERSION.matcher(doi);
+        return m.find() ? doi.substring(0, m.start()) : doi;
+    }
+
+    private static long fnv1a(long hash, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // FNV alone leaves the high bits poorly distributed for short inputs
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,429 @@
+package com.cochrane.library.cochrane.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary snapshot of the live corpus tables, for a warm start without a
+ * recrawl.
+ *
+ * Layout (big-endian): magic, format version, creation time, table count;
+ * then per table its name and columns (name and value kind), followed by
+ * blocks of about BLOCK_BYTES rows, each as row count, raw length,
+ * compressed length and the deflated rows, and a row count of 0 after the
+ * last block. Strings are length-prefixed UTF-8.
+ *
+ * Columns are matched by name on load, so a snapshot survives columns being
+ * added to the schema (they get their default) or dropped (their values are
+ * skipped). The file is memory-mapped for reading and rows go into the
+ * database as JDBC batches with their ids, in one transaction.
+ */
+final class CorpusSnapshot {
+
+    static final int MAGIC = 0x434F5250; // "CORP"
+    static final int VERSION = 1;
+
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final int INSERT_BATCH = 500;
+    private static final String LIVE_REVIEWS = "review_id IN (SELECT id FROM cochrane_reviews WHERE is_shadow = false)";
+
+    /**
+     * The tables in the snapshot, parents before the tables referencing them,
+     * and which of their rows belong to the live corpus.
+     */
+    static final Map<String, String> TABLES = tables();
+
+    private enum Kind {
+        LONG,
+        BOOLEAN,
+        DOUBLE,
+        DATE,
+        TIMESTAMP,
+        BYTES,
+        STRING
+    }
+
+    private CorpusSnapshot() {
+    }
+
+    private static Map<String, String> tables() {
+        Map<String, String> tables = new LinkedHashMap<>();
+        tables.put("authors", null);
+        tables.put("topics", null);
+        tables.put("cochrane_reviews", "is_shadow = false");
+        tables.put("review_authors", LIVE_REVIEWS);
+        tables.put("review_topics", LIVE_REVIEWS);
+        tables.put("review_sections", LIVE_REVIEWS);
+        tables.put("topic_listings", null);
+        return tables;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file next to the target and moves it
+     * into place, so a reader never sees a half-written file.
+     *
+     * @return rows written per table
+     */
+    static Map<String, Long> write(Connection connection, Path file) throws IOException, SQLException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Long> rows = new LinkedHashMap<>();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(TABLES.size());
+            for (Map.Entry<String, String> table : TABLES.entrySet()) {
+                rows.put(table.getKey(), writeTable(connection, table.getKey(), table.getValue(), out, deflater));
+            }
+        } finally {
+            deflater.end();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private static long writeTable(Connection connection, String table, String where, DataOutputStream out,
+            Deflater deflater) throws IOException, SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "SELECT * FROM " + table + (where != null ? " WHERE " + where : ""))) {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            Kind[] kinds = new Kind[columns];
+            writeString(out, table);
+            out.writeInt(columns);
+            for (int i = 0; i < columns; i++) {
+                kinds[i] = kindOf(meta.getColumnType(i + 1));
+                writeString(out, meta.getColumnName(i + 1).toLowerCase(Locale.ROOT));
+                out.writeByte(kinds[i].ordinal());
+            }
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_BYTES + BLOCK_BYTES / 4);
+            DataOutputStream rowOut = new DataOutputStream(block);
+            long total = 0;
+            int inBlock = 0;
+            while (rs.next()) {
+                for (int i = 0; i < columns; i++) {
+                    writeValue(rs, i + 1, kinds[i], rowOut);
+                }
+                inBlock++;
+                total++;
+                if (block.size() >= BLOCK_BYTES) {
+                    writeBlock(out, inBlock, block, deflater);
+                    inBlock = 0;
+                }
+            }
+            if (inBlock > 0) {
+                writeBlock(out, inBlock, block, deflater);
+            }
+            out.writeInt(0);
+            return total;
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, int rows, ByteArrayOutputStream block, Deflater deflater)
+            throws IOException {
+        byte[] raw = block.toByteArray();
+        block.reset();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 3 + 64);
+        byte[] buffer = new byte[64 * 1024];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        out.writeInt(rows);
+        out.writeInt(raw.length);
+        out.writeInt(compressed.size());
+        compressed.writeTo(out);
+    }
+
+    private static Kind kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> Kind.LONG;
+            case Types.BOOLEAN, Types.BIT -> Kind.BOOLEAN;
+            case Types.DOUBLE, Types.FLOAT, Types.REAL, Types.DECIMAL, Types.NUMERIC -> Kind.DOUBLE;
+            case Types.DATE -> Kind.DATE;
+            case Types.TIMESTAMP -> Kind.TIMESTAMP;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> Kind.BYTES;
+            default -> Kind.STRING; // text, CLOB and enum columns
+        };
+    }
+
+    private static void writeValue(ResultSet rs, int column, Kind kind, DataOutputStream out)
+            throws IOException, SQLException {
+        Object value = switch (kind) {
+            case LONG -> rs.getObject(column, Long.class);
+            case BOOLEAN -> rs.getObject(column, Boolean.class);
+            case DOUBLE -> rs.getObject(column, Double.class);
+            case DATE -> rs.getObject(column, LocalDate.class);
+            case TIMESTAMP -> rs.getObject(column, LocalDateTime.class);
+            case BYTES -> rs.getBytes(column);
+            case STRING -> rs.getString(column);
+        };
+        out.writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+        switch (kind) {
+            case LONG -> out.writeLong((Long) value);
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case DOUBLE -> out.writeDouble((Double) value);
+            case DATE -> out.writeLong(((LocalDate) value).toEpochDay());
+            case TIMESTAMP -> {
+                LocalDateTime timestamp = (LocalDateTime) value;
+                out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(timestamp.getNano());
+            }
+            case BYTES -> {
+                byte[] bytes = (byte[]) value;
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case STRING -> writeString(out, (String) value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Inserts the snapshot's rows into the (empty) tables in one transaction,
+     * committed only if every table loaded, then moves the id sequences past
+     * them. Moving a sequence is DDL, which H2 commits implicitly, so it runs
+     * after the commit rather than inside the transaction.
+     *
+     * @return rows loaded per table
+     * @throws IllegalStateException when the rows were committed but an id
+     *                               sequence could not be moved, so new rows
+     *                               would collide with loaded ones
+     */
+    static Map<String, Long> load(Path file, Connection connection) throws IOException, SQLException {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        // table -> first free id, for the tables with an id column
+        Map<String, Long> nextIds = new LinkedHashMap<>();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        Inflater inflater = new Inflater();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a corpus snapshot: " + file);
+            }
+            int version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ", expected " + VERSION);
+            }
+            buffer.getLong(); // created at
+            int tables = buffer.getInt();
+            for (int t = 0; t < tables; t++) {
+                String table = readString(buffer);
+                rows.put(table, loadTable(connection, table, buffer, inflater));
+            }
+            for (String table : rows.keySet()) {
+                if (columnsOf(connection, table).contains("id")) {
+                    nextIds.put(table, nextId(connection, table));
+                }
+            }
+            connection.commit();
+        } catch (BufferUnderflowException e) {
+            connection.rollback();
+            throw new IOException("Truncated snapshot: " + file, e);
+        } catch (IOException | SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            inflater.end();
+            connection.setAutoCommit(autoCommit);
+        }
+        for (Map.Entry<String, Long> next : nextIds.entrySet()) {
+            restartIdentity(connection, next.getKey(), next.getValue());
+        }
+        return rows;
+    }
+
+    private static long loadTable(Connection connection, String table, ByteBuffer buffer, Inflater inflater)
+            throws IOException, SQLException {
+        int columns = buffer.getInt();
+        String[] names = new String[columns];
+        Kind[] kinds = new Kind[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = readString(buffer);
+            kinds[i] = Kind.values()[buffer.get()];
+        }
+
+        // snapshot column -> parameter index, 0 for columns the table no longer has
+        Set<String> present = columnsOf(connection, table);
+        int[] parameter = new int[columns];
+        List<String> insertColumns = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            if (present.contains(names[i])) {
+                insertColumns.add(names[i]);
+                parameter[i] = insertColumns.size();
+            }
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", insertColumns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(insertColumns.size(), "?")) + ")";
+
+        long total = 0;
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            int pending = 0;
+            while (true) {
+                int rowCount = buffer.getInt();
+                if (rowCount == 0) {
+                    break;
+                }
+                ByteBuffer block = inflate(buffer, inflater);
+                for (int r = 0; r < rowCount; r++) {
+                    for (int i = 0; i < columns; i++) {
+                        Object value = readValue(block, kinds[i]);
+                        if (parameter[i] > 0) {
+                            insert.setObject(parameter[i], value);
+                        }
+                    }
+                    insert.addBatch();
+                    if (++pending == INSERT_BATCH) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                total += rowCount;
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+        return total;
+    }
+
+    private static ByteBuffer inflate(ByteBuffer buffer, Inflater inflater) throws IOException {
+        int rawLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        ByteBuffer compressed = buffer.slice(buffer.position(), compressedLength);
+        buffer.position(buffer.position() + compressedLength);
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Corrupt snapshot block");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt snapshot block", e);
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static Object readValue(ByteBuffer in, Kind kind) {
+        if (in.get() == 0) {
+            return null;
+        }
+        return switch (kind) {
+            case LONG -> in.getLong();
+            case BOOLEAN -> in.get() != 0;
+            case DOUBLE -> in.getDouble();
+            case DATE -> LocalDate.ofEpochDay(in.getLong());
+            case TIMESTAMP -> LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+            case BYTES -> {
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                yield bytes;
+            }
+            case STRING -> readString(in);
+        };
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static Set<String> columnsOf(Connection connection, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnName(i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Rows were inserted with their ids, so the identity column has to
+     * continue after the largest one. The rows are committed by now: failing
+     * here is not rolled back, so it fails loudly instead.
+     */
+    private static void restartIdentity(Connection connection, String table, long next) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Loaded snapshot rows into " + table
+                    + " but could not restart its ids at " + next + ": " + e.getMessage(), e);
+        }
+    }
+}
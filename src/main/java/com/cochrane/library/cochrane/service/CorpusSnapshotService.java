@@ -0,0 +1,191 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.Job;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Keeps a binary snapshot of the live corpus on disk (crawler.snapshot-path)
+ * so a restarted node, whose in-memory database starts empty, serves the
+ * corpus again without waiting for a recrawl.
+ *
+ * The snapshot is rewritten on crawler.snapshot-cron and at shutdown, but only
+ * when the corpus changed since the last one, and loaded once at startup
+ * before the sample data and before the application reports ready.
+ */
+@Service
+@Lazy(false) // @Scheduled methods are only registered for eagerly created beans
+public class CorpusSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CorpusSnapshotService.class);
+
+    // changes whenever a crawl, recrawl or generation swap touched the live corpus
+    private static final String CORPUS_VERSION_SQL = "SELECT COUNT(*), MAX(id), MAX(last_checked_at), "
+            + "(SELECT MAX(last_checked_at) FROM topic_listings) FROM cochrane_reviews WHERE is_shadow = false";
+
+    private final DataSource writeDataSource;
+    private final DataSource readDataSource;
+    private final CrawlerConfig crawlerConfig;
+    private final JobService jobService;
+    private final FacetService facetService;
+
+    // corpus version of the snapshot on disk, null until one was written or loaded
+    private String snapshotVersion;
+
+    @Autowired
+    public CorpusSnapshotService(@Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource, CrawlerConfig crawlerConfig,
+            JobService jobService, FacetService facetService) {
+        this.writeDataSource = writeDataSource;
+        this.readDataSource = readDataSource;
+        this.crawlerConfig = crawlerConfig;
+        this.jobService = jobService;
+        this.facetService = facetService;
+    }
+
+    public boolean isEnabled() {
+        return !crawlerConfig.getSnapshotPath().isBlank();
+    }
+
+    /**
+     * Scheduled snapshot (crawler.snapshot-cron), written on the maintenance
+     * executor.
+     */
+    @Scheduled(cron = "${crawler.snapshot-cron}")
+    public void scheduleSnapshot() {
+        if (isEnabled()) {
+            jobService.submit(Job.Type.SNAPSHOT, "corpus snapshot", this::writeSnapshot);
+        }
+    }
+
+    /**
+     * Writes the snapshot unless the corpus is unchanged since the last one.
+     *
+     * @return rows written per table, empty when skipped
+     */
+    public synchronized Map<String, Long> writeSnapshot() throws IOException, SQLException {
+        if (!isEnabled()) {
+            return Map.of();
+        }
+        Path file = Path.of(crawlerConfig.getSnapshotPath());
+        long start = System.nanoTime();
+        // a long read, kept off the write pool the crawler needs
+        try (Connection connection = readDataSource.getConnection()) {
+            // all tables from the same point in time
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                String version = corpusVersion(connection);
+                if (version.equals(snapshotVersion) && Files.exists(file)) {
+                    logger.debug("Corpus unchanged since the last snapshot, skipping");
+                    return Map.of();
+                }
+                if (reviewCount(connection) == 0) {
+                    // never replace a good snapshot with an empty corpus, e.g. after a failed load
+                    logger.info("No reviews to snapshot, keeping {}", file);
+                    return Map.of();
+                }
+                Map<String, Long> rows = CorpusSnapshot.write(connection, file);
+                snapshotVersion = version;
+                logger.info("Wrote corpus snapshot {} ({} bytes) in {} ms: {}", file, Files.size(file),
+                        (System.nanoTime() - start) / 1_000_000, rows);
+                return rows;
+            } finally {
+                connection.rollback();
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot into an empty corpus. Does nothing when snapshots are
+     * disabled, no snapshot exists yet or the database already has reviews; a
+     * snapshot that can't be read is logged and left for the next crawl to
+     * replace. Loaded rows whose id sequence can't be moved past them throw
+     * IllegalStateException, which fails the startup.
+     *
+     * @return rows loaded per table, empty when nothing was loaded
+     */
+    public synchronized Map<String, Long> loadIfEmpty() {
+        if (!isEnabled()) {
+            return Map.of();
+        }
+        Path file = Path.of(crawlerConfig.getSnapshotPath());
+        if (!Files.isRegularFile(file)) {
+            logger.info("No corpus snapshot at {}, starting empty", file);
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        try (Connection connection = writeDataSource.getConnection()) {
+            if (reviewCount(connection) > 0) {
+                logger.info("Database already holds reviews, not loading snapshot {}", file);
+                return Map.of();
+            }
+            Map<String, Long> rows = CorpusSnapshot.load(file, connection);
+            snapshotVersion = corpusVersion(connection);
+            facetService.refreshCounts();
+            logger.info("Loaded corpus snapshot {} in {} ms: {}", file, (System.nanoTime() - start) / 1_000_000,
+                    rows);
+            return rows;
+        } catch (IOException | SQLException e) {
+            logger.error("Failed to load corpus snapshot {}: {}", file, e.getMessage(), e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Last snapshot on the way down, so a restart doesn't lose what was crawled
+     * since the last scheduled one.
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (!isEnabled() || !crawlerConfig.isSnapshotOnShutdown()) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (IOException | SQLException e) {
+            logger.error("Failed to write corpus snapshot on shutdown: {}", e.getMessage(), e);
+        }
+    }
+
+    private static long reviewCount(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM cochrane_reviews")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String corpusVersion(Connection connection) throws SQLException {
+        StringJoiner version = new StringJoiner("/");
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(CORPUS_VERSION_SQL)) {
+            rs.next();
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                version.add(String.valueOf(rs.getObject(i)));
+            }
+        }
+        return version.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.cochrane.library.cochrane.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Machine-readable crawl events. Each event is one JSON line in
+ * logs/crawl-events.log (see logback-spring.xml) with its fields as key/value
+ * pairs and the crawl run id from the MDC, so a run can be followed across the
+ * crawl thread and the pipeline workers. Per-review progress goes here instead
+ * of the application log.
+ */
+final class CrawlEvents {
+    private static final Logger events = LoggerFactory.getLogger("CRAWL_EVENTS");
+
+    static final String RUN_ID = "crawlRunId";
+
+    private CrawlEvents() {
+    }
+
+    static String newRunId() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+    }
+
+    static void crawlStarted(boolean fullRefresh) {
+        events.atInfo()
+                .addKeyValue("event", "crawl_started")
+                .addKeyValue("fullRefresh", fullRefresh)
+                .log("crawl started");
+    }
+
+    static void topicCrawled(String topic, int listingPages, int queued) {
+        events.atInfo()
+                .addKeyValue("event", "topic_crawled")
+                .addKeyValue("topic", topic)
+                .addKeyValue("listingPages", listingPages)
+                .addKeyValue("queued", queued)
+                .log("topic crawled");
+    }
+
+    static void reviewStored(String url, String status, boolean added) {
+        events.atInfo()
+                .addKeyValue("event", added ? "review_added" : "review_updated")
+                .addKeyValue("url", url)
+                .addKeyValue("status", status)
+                .log("review stored");
+    }
+
+    static void reviewUnchanged(String url) {
+        events.atDebug()
+                .addKeyValue("event", "review_unchanged")
+                .addKeyValue("url", url)
+                .log("review unchanged");
+    }
+
+    static void reviewFailed(String url, String error) {
+        events.atWarn()
+                .addKeyValue("event", "review_failed")
+                .addKeyValue("url", url)
+                .addKeyValue("error", error)
+                .log("review failed");
+    }
+
+    static void pageTruncated(String url) {
+        events.atWarn()
+                .addKeyValue("event", "page_truncated")
+                .addKeyValue("url", url)
+                .log("page truncated");
+    }
+
+    static void sitemapsRead(int fetched, int skipped, int queued) {
+        events.atInfo()
+                .addKeyValue("event", "sitemaps_read")
+                .addKeyValue("fetched", fetched)
+                .addKeyValue("skipped", skipped)
+                .addKeyValue("queued", queued)
+                .log("sitemaps read");
+    }
+
+    static void crawlFinished(boolean completed, int processed, int successful, int failed, int unchanged,
+            long durationMs) {
+        events.atInfo()
+                .addKeyValue("event", "crawl_finished")
+                .addKeyValue("completed", completed)
+                .addKeyValue("processed", processed)
+                .addKeyValue("successful", successful)
+                .addKeyValue("failed", failed)
+                .addKeyValue("unchanged", unchanged)
+                .addKeyValue("durationMs", durationMs)
+                .log("crawl finished");
+    }
+
+    /**
+     * Runs the handler with the given MDC (the crawl thread's, captured when the
+     * pipeline was built) on whichever worker thread calls it.
+     */
+    static <T> Consumer<T> withLogContext(Map<String, String> context, Consumer<T> handler) {
+        if (context == null || context.isEmpty()) {
+            return handler;
+        }
+        return item -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            MDC.setContextMap(context);
+            try {
+                handler.accept(item);
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
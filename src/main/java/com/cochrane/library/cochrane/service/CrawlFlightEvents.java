@@ -0,0 +1,140 @@
+package com.cochrane.library.cochrane.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.List;
+
+/**
+ * JDK Flight Recorder events for the stages of a crawl, recorded alongside
+ * the JVM's own events (see FlightRecordingService) so a recording shows
+ * where a crawl spent its time next to GC, allocation and lock data. Events
+ * are timed with begin/commit on the thread doing the work; fields that cost
+ * something to compute are only filled in when the event will be committed.
+ *
+ * All events are enabled without a threshold and without stack traces: each
+ * fires at most once per request or batch, which the politeness delay keeps
+ * to a handful per second.
+ */
+final class CrawlFlightEvents {
+
+    static final String PREFIX = "cochrane.crawler.";
+    private static final String CATEGORY = "Cochrane Crawler";
+
+    static final List<Class<? extends Event>> TYPES = List.of(PageFetched.class, PageParsed.class,
+            ReviewExtracted.class, StoreBatch.class, RetryBackoff.class, PolitenessWait.class);
+
+    private CrawlFlightEvents() {
+    }
+
+    @Name(PREFIX + "PageFetched")
+    @Label("Page Fetched")
+    @Description("One HTTP download, from connecting to the end of the capped body")
+    @Category({CATEGORY, "Fetch"})
+    @StackTrace(false)
+    static final class PageFetched extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Status")
+        @Description("HTTP status code, 0 when no response was received")
+        int status;
+
+        @Label("Body Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Truncated")
+        boolean truncated;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    @Name(PREFIX + "PageParsed")
+    @Label("Page Parsed")
+    @Description("Building the DOM of a fetched review page")
+    @Category({CATEGORY, "Parse"})
+    @StackTrace(false)
+    static final class PageParsed extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Elements")
+        int nodes;
+    }
+
+    @Name(PREFIX + "ReviewExtracted")
+    @Label("Review Extracted")
+    @Description("Extracting the review fields and sections from a parsed page")
+    @Category({CATEGORY, "Parse"})
+    @StackTrace(false)
+    static final class ReviewExtracted extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Extracted")
+        boolean extracted;
+
+        @Label("Sections")
+        int sections;
+    }
+
+    @Name(PREFIX + "StoreBatch")
+    @Label("Store Batch")
+    @Description("One store-stage transaction writing a batch of reviews")
+    @Category({CATEGORY, "Store"})
+    @StackTrace(false)
+    static final class StoreBatch extends Event {
+        @Label("Items")
+        int items;
+
+        @Label("Written")
+        int written;
+
+        @Label("Unchanged")
+        int unchanged;
+
+        @Label("Failed")
+        int failed;
+
+        @Label("Rolled Back")
+        boolean rolledBack;
+    }
+
+    @Name(PREFIX + "RetryBackoff")
+    @Label("Retry Backoff")
+    @Description("Sleeping before retrying a failed fetch")
+    @Category({CATEGORY, "Fetch"})
+    @StackTrace(false)
+    static final class RetryBackoff extends Event {
+        @Label("URL")
+        String url;
+
+        @Label("Failed Attempt")
+        int attempt;
+
+        @Label("Planned Delay")
+        @Timespan(Timespan.MILLISECONDS)
+        long delay;
+    }
+
+    @Name(PREFIX + "PolitenessWait")
+    @Label("Politeness Wait")
+    @Description("Waiting for the next request slot of the shared request delay")
+    @Category({CATEGORY, "Fetch"})
+    @StackTrace(false)
+    static final class PolitenessWait extends Event {
+        @Label("Origin")
+        String origin;
+
+        @Label("Priority")
+        boolean priority;
+    }
+}
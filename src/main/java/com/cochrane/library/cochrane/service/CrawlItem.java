@@ -0,0 +1,88 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.CochraneReview;
+
+/**
+ * A single review URL travelling through the crawl pipeline. Each stage fills
+ * in its part; a failure in any stage is carried along so the store stage can
+ * account for it.
+ */
+class CrawlItem {
+    private final String url;
+    private final String topic;
+    private PageFetcher.FetchedPage page;
+    private CochraneReview review;
+    private String error;
+    // set when the detail page could not be downloaded
+    private FetchException fetchFailure;
+    // the stored review already has this content, nothing was written
+    private boolean unchanged;
+    // the page body hit its size cap, the review was extracted from what arrived
+    private boolean truncated;
+
+    CrawlItem(String url, String topic) {
+        this.url = url;
+        this.topic = topic;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    PageFetcher.FetchedPage getPage() {
+        return page;
+    }
+
+    void setPage(PageFetcher.FetchedPage page) {
+        this.page = page;
+    }
+
+    CochraneReview getReview() {
+        return review;
+    }
+
+    void setReview(CochraneReview review) {
+        this.review = review;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    void fail(String error) {
+        this.error = error;
+    }
+
+    void failFetch(FetchException failure, String error) {
+        this.fetchFailure = failure;
+        this.error = error;
+    }
+
+    FetchException getFetchFailure() {
+        return fetchFailure;
+    }
+
+    boolean isFailed() {
+        return error != null;
+    }
+
+    boolean isUnchanged() {
+        return unchanged;
+    }
+
+    void setUnchanged(boolean unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,160 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.PipelineStageStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * fetch -> parse/extract -> store, connected by bounded queues.
+ *
+ * Fetch is I/O-bound and limited by the shared politeness budget, and store
+ * writes batches from a single worker. Parse and extract are CPU-bound: the
+ * parse stage hands each page to a fork-join pool sized to the cores, and a
+ * page goes on to the store queue as soon as it is extracted, so one large
+ * review doesn't hold up the smaller ones queued behind it. When the
+ * database slows down the store queue fills up, which blocks the parsers,
+ * then the fetchers, then the topic walk submitting new URLs.
+ *
+ * The MDC of the thread that builds the pipeline (the crawl run id) is applied
+ * to every stage's work so their log lines and crawl events correlate.
+ */
+class CrawlPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(CrawlPipeline.class);
+    // Pages on the fork-join pool at once, per thread, so a thread that is
+    // done with one page finds the next one waiting
+    private static final int PARSE_IN_FLIGHT_PER_THREAD = 2;
+
+    private final ForkJoinPool parsePool;
+    // pages the pool may take on; a permit is returned once its page is in the store queue
+    private final Semaphore parseSlots;
+    private final int parseInFlight;
+    private final PipelineStage<CrawlItem> fetch;
+    private final PipelineStage<CrawlItem> parse;
+    private final PipelineStage<CrawlItem> store;
+
+    CrawlPipeline(CrawlerConfig config,
+            Consumer<CrawlItem> fetcher,
+            Consumer<CrawlItem> parser,
+            Consumer<List<CrawlItem>> storer) {
+        Map<String, String> logContext = MDC.getCopyOfContextMap();
+        int capacity = config.getPipelineQueueCapacity();
+        int parseWorkers = config.getParseWorkers() > 0
+                ? config.getParseWorkers()
+                : Runtime.getRuntime().availableProcessors();
+
+        this.store = new PipelineStage<>("store", 1, capacity, config.getStoreBatchSize(),
+                CrawlEvents.withLogContext(logContext, storer), null);
+        this.parsePool = new ForkJoinPool(parseWorkers, pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("crawl-extract-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, true);
+        this.parseInFlight = parseWorkers * PARSE_IN_FLIGHT_PER_THREAD;
+        this.parseSlots = new Semaphore(parseInFlight);
+        // hands pages on to the store stage itself, see dispatch
+        this.parse = new PipelineStage<>("parse", 1, capacity, 1,
+                each(dispatch(CrawlEvents.withLogContext(logContext, parser))), null);
+        this.fetch = new PipelineStage<>("fetch", config.getFetchWorkers(), capacity, 1,
+                each(CrawlEvents.withLogContext(logContext, fetcher)), parse);
+    }
+
+    void start() {
+        store.start();
+        parse.start();
+        fetch.start();
+    }
+
+    /**
+     * Queues a review URL; blocks while the pipeline is saturated.
+     */
+    void submit(String url, String topic) throws InterruptedException {
+        fetch.put(new CrawlItem(url, topic));
+    }
+
+    /**
+     * Lets every submitted item run through all stages, then stops the workers.
+     */
+    void finish() throws InterruptedException {
+        fetch.closeInput();
+        fetch.awaitDrained();
+        parse.closeInput();
+        parse.awaitDrained();
+        // the pages still on the pool are in the store queue once every permit is back
+        parseSlots.acquire(parseInFlight);
+        parsePool.shutdown();
+        store.closeInput();
+        store.awaitDrained();
+    }
+
+    /**
+     * Abandons queued work, e.g. when the crawl is stopped. Returns once the
+     * store worker has finished the batch it was writing, so nothing reaches
+     * the database afterwards.
+     */
+    void cancel() {
+        fetch.cancel();
+        parse.cancel();
+        parsePool.shutdownNow();
+        store.cancel();
+        store.awaitStopped();
+    }
+
+    List<PipelineStageStats> stats() {
+        return List.of(fetch.stats(), parse.stats(), store.stats());
+    }
+
+    /**
+     * Extracts the page on the parse pool, blocking while the pool already has
+     * its share of pages; the page goes on to the store stage when it is done,
+     * whatever else is still being extracted.
+     */
+    private Consumer<CrawlItem> dispatch(Consumer<CrawlItem> parser) {
+        return item -> {
+            try {
+                parseSlots.acquire();
+            } catch (InterruptedException e) {
+                // cancelled, the page is dropped with the rest
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                parsePool.execute(() -> extract(parser, item));
+            } catch (RejectedExecutionException e) {
+                // the pool was shut down by cancel()
+                parseSlots.release();
+            }
+        };
+    }
+
+    private void extract(Consumer<CrawlItem> parser, CrawlItem item) {
+        try {
+            parser.accept(item);
+        } catch (RuntimeException e) {
+            // the item must not reach the store stage looking like it has a review
+            logger.error("Extracting {} failed: {}", item.getUrl(), e.getMessage(), e);
+            item.fail(String.format("Error parsing review page: %s - %s", item.getUrl(), e.getMessage()));
+        }
+        try {
+            store.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            parseSlots.release();
+        }
+    }
+
+    private static Consumer<List<CrawlItem>> each(Consumer<CrawlItem> handler) {
+        return batch -> batch.forEach(handler);
+    }
+}
@@ -4,67 +4,136 @@ import com.cochrane.library.cochrane.config.CrawlerConfig;
 import com.cochrane.library.cochrane.model.CochraneReview;
 import com.cochrane.library.cochrane.model.CrawlerStatus;
 import com.cochrane.library.cochrane.model.CrawlerStatistics;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.model.ReviewCrawlState;
+import com.cochrane.library.cochrane.model.ReviewSummary;
+import com.cochrane.library.cochrane.model.TopicListing;
 import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
 import com.cochrane.library.cochrane.repository.CrawlerStatisticsRepository;
-import org.jsoup.Jsoup;
+import com.cochrane.library.cochrane.repository.TopicListingRepository;
+import com.cochrane.library.cochrane.model.PipelineStageStats;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
+@Lazy(false) // @Scheduled methods are only registered for eagerly created beans
 public class CrawlerService {
     private static final Logger logger = LoggerFactory.getLogger(CrawlerService.class);
 
-    // The "Browse by Topic" URL
-    private static final String BASE_TOPICS_URL = "https://www.cochranelibrary.com/cdsr/reviews/topics";
-
-    // Default Jsoup config
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-            "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
-    private static final int TIMEOUT_MS = 10000;
-    private static final int RATE_LIMIT_MS = 500;
-    private static final int MAX_RETRIES = 3;
-    private static final int RETRY_DELAY_MS = 2000;
+    // The "Browse by Topic" URL, user agent, timeouts, retries and the delay
+    // between requests all come from CrawlerConfig (crawler.*); PageFetcher
+    // enforces the delay across all fetch workers.
 
     private final CochraneReviewRepository reviewRepository;
     private final CrawlerConfig crawlerConfig;
-    private final Set<String> seenUrls = new HashSet<>();
+    // review key (DOI, else URL) -> URL it was queued from in the current crawl; one detail fetch per key
+    private final Map<String, String> seenReviews = new HashMap<>();
+    // topic name -> review URLs listed under it during the current crawl
+    private final Map<String, Set<String>> topicMembers = new HashMap<>();
+    // dead-lettered URLs that failed permanently, not fetched again; loaded per crawl
+    private Set<String> permanentFailures = Set.of();
 
     // concurrency & stats
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
     private LocalDateTime lastRunTime;
     private final AtomicInteger processedCount = new AtomicInteger(0);
-    private final List<CochraneReview> newReviews = new ArrayList<>();
-    private LocalDateTime crawlStartTime;
+    // newest additions of the current crawl, at most crawler.recent-reviews-window;
+    // the full list is paged from the database by first_crawled_at
+    private final Deque<ReviewSummary> recentReviews = new ArrayDeque<>();
+    private volatile LocalDateTime crawlStartTime;
     private double currentSpeed = 0.0;
 
     private final CrawlerStatisticsRepository statisticsRepository;
+    private final TopicListingRepository topicListingRepository;
+    private final ReviewGenerationService generationService;
+    private final PageFetcher pageFetcher;
+    private final ReviewExtractor reviewExtractor;
+    private final FacetService facetService;
+    private final JobService jobService;
+    private final DeadLetterService deadLetterService;
+    private final SitemapDiscovery sitemapDiscovery;
+    private final TransactionTemplate transactionTemplate;
+    // RecrawlScheduler depends on this service, so it is looked up on use
+    private final ObjectProvider<RecrawlScheduler> recrawlScheduler;
     private CrawlerStatistics currentStats;
+    // fetch -> parse -> store pipeline of the running crawl, null when idle
+    private volatile CrawlPipeline activePipeline;
+    // true while the current run crawls into the shadow generation
+    private volatile boolean fullRefresh;
 
     @Autowired
     public CrawlerService(
             CochraneReviewRepository reviewRepository,
             CrawlerConfig crawlerConfig,
-            CrawlerStatisticsRepository statisticsRepository) {
+            CrawlerStatisticsRepository statisticsRepository,
+            TopicListingRepository topicListingRepository,
+            ReviewGenerationService generationService,
+            PageFetcher pageFetcher,
+            ReviewExtractor reviewExtractor,
+            FacetService facetService,
+            JobService jobService,
+            DeadLetterService deadLetterService,
+            SitemapDiscovery sitemapDiscovery,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<RecrawlScheduler> recrawlScheduler) {
         this.reviewRepository = reviewRepository;
         this.crawlerConfig = crawlerConfig;
         this.statisticsRepository = statisticsRepository;
-        this.currentStats = getOrCreateStatistics();
+        this.topicListingRepository = topicListingRepository;
+        this.generationService = generationService;
+        this.pageFetcher = pageFetcher;
+        this.reviewExtractor = reviewExtractor;
+        this.facetService = facetService;
+        this.jobService = jobService;
+        this.deadLetterService = deadLetterService;
+        this.sitemapDiscovery = sitemapDiscovery;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recrawlScheduler = recrawlScheduler;
+    }
+
+    /**
+     * The latest statistics row is loaded on first use rather than in the
+     * constructor, so creating this bean never touches the database.
+     */
+    private synchronized CrawlerStatistics statistics() {
+        if (currentStats == null) {
+            currentStats = getOrCreateStatistics();
+        }
+        return currentStats;
+    }
+
+    /**
+     * Stats are updated from the topic walk and from the pipeline's store
+     * worker, so every change goes through here.
+     */
+    private synchronized void updateStats(Consumer<CrawlerStatistics> update) {
+        CrawlerStatistics stats = statistics();
+        update.accept(stats);
+        statisticsRepository.save(stats);
     }
 
     private CrawlerStatistics getOrCreateStatistics() {
@@ -80,25 +149,31 @@ public class CrawlerService {
 
     /**
      * Scheduled crawl based on a cron expression in your config
-     * (crawler.cronSchedule).
+     * (crawler.cronSchedule). Only submits the crawl job, so the scheduler
+     * thread is free again immediately.
      */
     @Scheduled(cron = "${crawler.cronSchedule}")
-    @Transactional
     public void scheduledCrawl() {
         logger.info("Starting scheduled Cochrane Library crawl");
-        try {
-            crawlAllTopics(crawlerConfig.isClearBeforeCrawl());
-        } catch (Exception e) {
-            logger.error("Error during scheduled crawl: {}", e.getMessage(), e);
-        }
+        boolean fullRefresh = crawlerConfig.isClearBeforeCrawl();
+        submitCrawl(fullRefresh ? "scheduled full refresh" : "scheduled crawl", fullRefresh);
+    }
+
+    private Job submitCrawl(String description, boolean updateExisting) {
+        return jobService.submit(Job.Type.CRAWL, description, () -> {
+            crawlAllTopics(updateExisting);
+            return null;
+        });
     }
 
     /**
      * Master method: fetch all topics from the "Browse by Topic" page, then fetch
      * each topic's listing, then parse each review detail. If updateExisting=true,
      * it will do a "full refresh".
+     *
+     * Deliberately not @Transactional: reviews are written by the pipeline's
+     * store worker in short per-batch transactions.
      */
-    @Transactional
     public void crawlAllTopics(boolean updateExisting) {
         logger.info("Starting crawlAllTopics with updateExisting={}", updateExisting);
 
@@ -107,18 +182,24 @@ public class CrawlerService {
             logger.warn("Crawler is already running, skipping crawlAllTopics");
             return;
         }
+        MDC.put(CrawlEvents.RUN_ID, CrawlEvents.newRunId());
+        CrawlEvents.crawlStarted(updateExisting);
 
+        boolean completed = false;
+        CrawlPipeline pipeline = null;
         try {
             initNewStats(updateExisting);
+            pipeline = new CrawlPipeline(crawlerConfig, this::fetchPage, this::parsePage, this::storeBatch);
+            pipeline.start();
+            activePipeline = pipeline;
 
             logger.info("Fetching topics from base URL: {}", crawlerConfig.getBaseUrl());
-            Document doc = fetchWithRetry(crawlerConfig.getBaseUrl());
+            Document doc = pageFetcher.fetchDocument(crawlerConfig.getBaseUrl());
             // Each topic is an <li class="browse-by-list-item"> containing an <a> (maybe w/
             // a <button>)
             Elements topicLinks = doc.select("li.browse-by-list-item > a");
 
-            currentStats.setTotalTopics(topicLinks.size());
-            statisticsRepository.save(currentStats);
+            updateStats(stats -> stats.setTotalTopics(topicLinks.size()));
 
             logger.info("Found {} topics to crawl", topicLinks.size());
 
@@ -132,26 +213,37 @@ public class CrawlerService {
                 String topicUrl = topicEl.absUrl("href");
 
                 logger.info("Processing topic: {} (URL: {})", topicName, topicUrl);
-                currentStats.setCurrentTopic(topicName);
-                statisticsRepository.save(currentStats);
+                updateStats(stats -> stats.setCurrentTopic(topicName));
 
                 try {
-                    crawlTopic(topicName, topicUrl, updateExisting);
-                    currentStats.addProcessedTopic(topicName);
-                    statisticsRepository.save(currentStats);
+                    crawlTopic(topicName, topicUrl, updateExisting, pipeline);
+                    updateStats(stats -> stats.addProcessedTopic(topicName));
                     logger.info("Successfully processed topic: {}", topicName);
 
-                    // short delay between topics to be polite
-                    Thread.sleep(crawlerConfig.getDelayBetweenRequests());
-
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Crawl interrupted while processing topic {}, stopping", topicName);
+                    isRunning.set(false);
+                    break;
                 } catch (Exception e) {
                     String errorMsg = String.format("Failed to crawl topic %s: %s", topicName, e.getMessage());
                     logger.error(errorMsg, e);
-                    currentStats.addError(errorMsg);
-                    statisticsRepository.save(currentStats);
+                    updateStats(stats -> stats.addError(errorMsg));
                 }
             }
 
+            if (crawlerConfig.isSitemapDiscovery() && isRunning.get()) {
+                discoverFromSitemaps(pipeline);
+            }
+
+            if (!isRunning.get()) {
+                // a stop abandons the queued reviews, see the cancel below
+                logger.info("Crawl stopped before all queued reviews were stored");
+                return;
+            }
+            // let the reviews still in flight reach the database
+            pipeline.finish();
+            completed = isRunning.get();
             logger.info("Crawl completed successfully. Stats: processed={}, successful={}, failed={}",
                     currentStats.getTotalProcessed(),
                     currentStats.getSuccessfulReviews(),
@@ -159,20 +251,35 @@ public class CrawlerService {
         } catch (Exception e) {
             String errorMsg = "Critical error during crawlAllTopics: " + e.getMessage();
             logger.error(errorMsg, e);
-            currentStats.addError(errorMsg);
-            statisticsRepository.save(currentStats);
+            updateStats(stats -> stats.addError(errorMsg));
             throw new RuntimeException("Crawl failed", e);
 
         } finally {
+            if (pipeline != null && !completed) {
+                // waits for the store worker, so the generation is finished with nothing left writing
+                pipeline.cancel();
+            }
+            activePipeline = null;
+            linkTopicMembers();
+            finishGeneration(completed);
+            refreshFacetCounts();
             finalizeStats();
+            crawlFinished(completed);
+            MDC.remove(CrawlEvents.RUN_ID);
         }
     }
 
     /**
      * For a single topic, fetch the listing page and parse all review links. Then
      * for each link, parse the detail page.
+     *
+     * Listings are newest-first, so unless we do a full refresh the first page is
+     * fingerprinted: an unchanged fingerprint means nothing new and the topic
+     * costs one request. Otherwise we walk the pagination and stop as soon as we
+     * run into a streak of reviews that are already stored.
      */
-    private void crawlTopic(String topicName, String topicUrl, boolean updateExisting) {
+    private void crawlTopic(String topicName, String topicUrl, boolean updateExisting, CrawlPipeline pipeline)
+            throws InterruptedException {
         if (!isRunning.get()) {
             logger.debug("Skipping topic {} as crawler is stopped", topicName);
             return;
@@ -180,205 +287,546 @@ public class CrawlerService {
 
         try {
             logger.debug("Fetching reviews for topic: {}", topicName);
-            Document doc = fetchWithRetry(topicUrl);
-
-            // The listing shows a set of <a> tags that contain /cdsr/doi/ in the href
-            // This picks up each review link
-            Elements reviewLinks = doc.select("a[href*=/doi/]");
+            TopicListing listing = topicListingRepository.findByTopicUrl(topicUrl)
+                    .orElseGet(() -> new TopicListing(topicUrl, topicName));
+            Document doc = pageFetcher.fetchDocument(topicUrl);
+
+            // review key -> canonical URL, in page order
+            Map<String, String> reviewLinks = extractReviewLinks(doc);
+            String fingerprint = contentHash(String.join("\n", reviewLinks.values()));
+            LocalDateTime now = LocalDateTime.now();
+            listing.setTopicName(topicName);
+            listing.setLastCheckedAt(now);
             logger.info("Found {} potential review links for topic: {}", reviewLinks.size(), topicName);
 
-            int processedReviews = 0;
-            for (Element reviewLink : reviewLinks) {
-                if (!isRunning.get()) {
-                    logger.info("Crawler stop requested, breaking review loop for topic {}", topicName);
-                    break;
-                }
+            if (!updateExisting && fingerprint.equals(listing.getFingerprint())) {
+                logger.info("Listing unchanged for topic {}, skipping", topicName);
+                listing.setPagesFetched(1);
+                listing.setNewReviewsFound(0);
+                topicListingRepository.save(listing);
+                return;
+            }
 
-                String reviewUrl = reviewLink.attr("abs:href");
-                if (!seenUrls.contains(reviewUrl)
-                        && (updateExisting || !reviewRepository.existsByUrl(reviewUrl))) {
+            int firstPageSize = reviewLinks.size();
+            int processedReviews = 0;
+            int pagesFetched = 1;
+            int knownStreak = 0;
+            boolean complete = true;
+
+            listingLoop:
+            while (true) {
+                for (Map.Entry<String, String> link : reviewLinks.entrySet()) {
+                    String reviewKey = link.getKey();
+                    String reviewUrl = link.getValue();
+                    if (!isRunning.get()) {
+                        logger.info("Crawler stop requested, breaking review loop for topic {}", topicName);
+                        complete = false;
+                        break listingLoop;
+                    }
+                    if (permanentFailures.contains(reviewUrl)) {
+                        continue;
+                    }
+                    String seenUrl = seenReviews.get(reviewKey);
+                    if (seenUrl != null) {
+                        // already queued under another topic, the listing is enough
+                        addTopicMember(topicName, seenUrl);
+                        if (!updateExisting && reviewRepository.existsByUrl(seenUrl)
+                                && ++knownStreak >= crawlerConfig.getKnownReviewStreakToStop()) {
+                            logger.debug("Reached already known reviews for topic {}, stopping", topicName);
+                            break listingLoop;
+                        }
+                        continue;
+                    }
+                    addTopicMember(topicName, reviewUrl);
+                    if (!updateExisting && reviewRepository.existsByUrl(reviewUrl)) {
+                        if (++knownStreak >= crawlerConfig.getKnownReviewStreakToStop()) {
+                            logger.debug("Reached already known reviews for topic {}, stopping", topicName);
+                            break listingLoop;
+                        }
+                        continue;
+                    }
+                    knownStreak = 0;
 
                     logger.debug("Processing new review URL: {}", reviewUrl);
-                    seenUrls.add(reviewUrl);
+                    seenReviews.put(reviewKey, reviewUrl);
 
-                    // parse detail page
-                    processReviewPage(reviewUrl, topicName);
+                    // hand the detail page to the pipeline; blocks while it is saturated
+                    pipeline.submit(reviewUrl, topicName);
                     processedReviews++;
+                }
+
+                String nextPageUrl = nextListingPageUrl(doc);
+                if (nextPageUrl == null || pagesFetched >= crawlerConfig.getMaxListingPages()) {
+                    break;
+                }
+                doc = pageFetcher.fetchDocument(nextPageUrl);
+                reviewLinks = extractReviewLinks(doc);
+                pagesFetched++;
+            }
 
-                    // rate limit
-                    Thread.sleep(crawlerConfig.getDelayBetweenRequests());
+            // Only remember the fingerprint once everything it covers was processed,
+            // otherwise a stopped crawl would hide the remaining new reviews.
+            if (complete) {
+                if (!fingerprint.equals(listing.getFingerprint())) {
+                    listing.setLastChangedAt(now);
                 }
+                listing.setFingerprint(fingerprint);
+                listing.setFirstPageSize(firstPageSize);
             }
-            logger.info("Completed processing {} new reviews for topic: {}", processedReviews, topicName);
+            listing.setPagesFetched(pagesFetched);
+            listing.setNewReviewsFound(processedReviews);
+            topicListingRepository.save(listing);
+            logger.info("Queued {} new reviews for topic: {} ({} listing pages)",
+                    processedReviews, topicName, pagesFetched);
+            CrawlEvents.topicCrawled(topicName, pagesFetched, processedReviews);
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
             logger.error("Error crawling topic {}: {}", topicName, e.getMessage(), e);
         }
     }
 
     /**
-     * The detail page fetch: loads the page, extracts the main text from an updated
-     * selector, sets status=COMPLETED unless there's a fatal issue.
+     * Queues the reviews the origin's sitemaps list that the topic walk did
+     * not: ones no listing showed and, on incremental crawls, stored ones whose
+     * sitemap lastmod is after their last fetch. A full refresh reads every
+     * sitemap; other crawls skip the sitemaps their index reports unchanged.
      */
-    private void processReviewPage(String reviewUrl, String topicName) {
-        logger.debug("Processing review page: {}", reviewUrl);
+    private void discoverFromSitemaps(CrawlPipeline pipeline) {
+        Set<String> queued = new HashSet<>();
         try {
-            Document doc = fetchWithRetry(reviewUrl);
-
-            // Basic metadata from the detail page
-            CochraneReview review = extractReviewData(doc, reviewUrl, topicName);
-
-            currentStats.setLastProcessedUrl(reviewUrl);
-
-            if (review != null) {
-                // check DB for existing, or create
-                boolean isNew = !reviewRepository.existsByUrl(reviewUrl);
-                reviewRepository.save(review);
-
-                // update stats
-                currentStats.setCurrentReview(review.getTitle());
-                if (review.getCrawlStatus() == CochraneReview.CrawlStatus.COMPLETED) {
-                    currentStats.setSuccessfulReviews(currentStats.getSuccessfulReviews() + 1);
-                    logger.info("Successfully processed review: {} ({})", review.getTitle(), reviewUrl);
-                } else {
-                    currentStats.setFailedReviews(currentStats.getFailedReviews() + 1);
-                    String err = String.format("Failed to get content: %s (%s)", review.getTitle(), reviewUrl);
-                    logger.warn(err);
-                    currentStats.addError(err);
-                }
+            SitemapDiscovery.Result result = sitemapDiscovery.discover(crawlerConfig.getBaseUrl(), fullRefresh,
+                    isRunning::get, entries -> queueFromSitemap(entries, queued, pipeline));
+            result.getErrors().forEach(errorMsg -> updateStats(stats -> stats.addError(errorMsg)));
+            logger.info("Queued {} reviews from {} sitemaps ({} unchanged sitemaps skipped)",
+                    result.getReviewsQueued(), result.getSitemapsFetched(), result.getSitemapsSkipped());
+            CrawlEvents.sitemapsRead(result.getSitemapsFetched(), result.getSitemapsSkipped(),
+                    result.getReviewsQueued());
+        } catch (RuntimeException e) {
+            String errorMsg = "Sitemap discovery failed: " + e.getMessage();
+            logger.error(errorMsg, e);
+            updateStats(stats -> stats.addError(errorMsg));
+        }
+    }
 
-                currentStats.setTotalProcessed(currentStats.getTotalProcessed() + 1);
-                currentStats.updateCrawlingSpeed();
-                statisticsRepository.save(currentStats);
+    private int queueFromSitemap(List<SitemapReader.Entry> entries, Set<String> queued, CrawlPipeline pipeline) {
+        // canonical review URL -> lastmod; other pages in the sitemap are ignored
+        Map<String, LocalDateTime> lastModified = new LinkedHashMap<>();
+        for (SitemapReader.Entry entry : entries) {
+            if (ReviewUrls.doiKey(entry.loc()) != null) {
+                lastModified.putIfAbsent(ReviewUrls.canonicalUrl(ReviewUrls.origin(entry.loc()), entry.loc()),
+                        entry.lastModified());
+            }
+        }
+        if (lastModified.isEmpty()) {
+            return 0;
+        }
+        Map<String, ReviewCrawlState> stored = new HashMap<>();
+        for (ReviewCrawlState state : reviewRepository.findCrawlStates(lastModified.keySet())) {
+            stored.put(state.getUrl(), state);
+        }
 
-                if (isNew) {
-                    logger.info("Added new review: {} ({})", review.getTitle(), reviewUrl);
-                    addNewReview(review);
-                }
-            } else {
-                // No valid review data extracted
-                String errorMsg = String.format(
-                        "Failed to extract review data from URL: %s - no valid doc or parse error",
-                        reviewUrl);
-                logger.warn(errorMsg);
-                currentStats.addError(errorMsg);
-                currentStats.setCurrentReview("Failed to parse detail");
-                currentStats.setFailedReviews(currentStats.getFailedReviews() + 1);
-                statisticsRepository.save(currentStats);
+        int count = 0;
+        for (Map.Entry<String, LocalDateTime> entry : lastModified.entrySet()) {
+            String reviewUrl = entry.getKey();
+            String reviewKey = ReviewUrls.key(reviewUrl);
+            if (!isRunning.get()) {
+                break;
+            }
+            if (permanentFailures.contains(reviewUrl) || !queued.add(reviewKey)) {
+                continue;
+            }
+            ReviewCrawlState state = stored.get(reviewUrl);
+            boolean changed = !fullRefresh && state != null && entry.getValue() != null
+                    && (state.getLastCheckedAt() == null || entry.getValue().isAfter(state.getLastCheckedAt()));
+            if (!changed && (seenReviews.containsKey(reviewKey) || (state != null && !fullRefresh))) {
+                continue;
+            }
+            seenReviews.put(reviewKey, reviewUrl);
+            try {
+                pipeline.submit(reviewUrl, state != null ? state.getTopic() : null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                isRunning.set(false);
+                break;
             }
+            count++;
+        }
+        return count;
+    }
 
-        } catch (IOException e) {
-            String errorMsg = String.format("Error processing review page: %s - %s", reviewUrl, e.getMessage());
+    private void addTopicMember(String topicName, String reviewUrl) {
+        topicMembers.computeIfAbsent(topicName, t -> new LinkedHashSet<>()).add(reviewUrl);
+    }
+
+    /**
+     * Links every review to all the topics whose listings showed it. Reviews
+     * are fetched once under the first topic that lists them; the other
+     * memberships only come from the listings, so they are written here, into
+     * the generation this crawl wrote to.
+     */
+    private void linkTopicMembers() {
+        try {
+            int linked = facetService.linkTopicMembers(topicMembers, fullRefresh);
+            logger.info("Linked {} additional review topic memberships from listings", linked);
+        } catch (Exception e) {
+            String errorMsg = "Failed to link topic memberships: " + e.getMessage();
             logger.error(errorMsg, e);
-            currentStats.addError(errorMsg);
-            currentStats.setCurrentReview("Error fetching detail");
-            currentStats.setFailedReviews(currentStats.getFailedReviews() + 1);
-            statisticsRepository.save(currentStats);
+            updateStats(stats -> stats.addError(errorMsg));
+        } finally {
+            topicMembers.clear();
+        }
+    }
+
+    /**
+     * The listing shows a set of <a> tags that contain /cdsr/doi/ in the href.
+     * Returns the distinct reviews in page order, keyed by DOI, with their
+     * canonical URLs. Variants of the same link (other path, query string,
+     * fragment) collapse into one entry.
+     */
+    private Map<String, String> extractReviewLinks(Document doc) {
+        String origin = ReviewUrls.origin(doc.location());
+        Map<String, String> links = new LinkedHashMap<>();
+        for (Element reviewLink : doc.select("a[href*=/doi/]")) {
+            String reviewUrl = ReviewUrls.canonicalUrl(origin, reviewLink.attr("href"));
+            if (reviewUrl == null) {
+                // a path-relative href, rare enough to let jsoup resolve it
+                reviewUrl = ReviewUrls.canonicalUrl(origin, reviewLink.absUrl("href"));
+            }
+            if (reviewUrl != null) {
+                links.putIfAbsent(ReviewUrls.key(reviewUrl), reviewUrl);
+            }
+        }
+        return links;
+    }
+
+    /**
+     * Follows the listing pagination, if the page has a "next" link.
+     */
+    private String nextListingPageUrl(Document doc) {
+        Element next = doc.selectFirst("a[rel=next], link[rel=next], li.pagination-next > a");
+        if (next == null) {
+            return null;
         }
+        String url = next.absUrl("href");
+        return url.isEmpty() ? null : url;
     }
 
     /**
-     * Extract detail page data. We assume the listing page gave us the date &
-     * authors,
-     * but we can also re-check if needed. For the "content," we updated the
-     * selector
-     * to find actual text in 'div.article-section__text' or fallback.
+     * Pipeline fetch stage: download the detail page (I/O-bound).
      */
-    private CochraneReview extractReviewData(Document doc, String url, String topicName) {
+    private void fetchPage(CrawlItem item) {
         try {
-            // The detail page typically has a <h1 class="publication-title"> for the main
-            // review title
-            Element titleElement = doc.selectFirst("h1.publication-title");
-            if (titleElement == null) {
-                logger.warn("No <h1.publication-title> found for review: {}", url);
-                return null;
+            item.setPage(pageFetcher.fetch(item.getUrl(), crawlerConfig.getReviewPageStopMarkers()));
+        } catch (IOException e) {
+            item.failFetch(FetchException.classify(e),
+                    String.format("Error processing review page: %s - %s", item.getUrl(), e.getMessage()));
+        } catch (RuntimeException e) {
+            // fail the item rather than the stage's batch, which would pass it on unfetched
+            logger.error("Unexpected error fetching {}: {}", item.getUrl(), e.getMessage(), e);
+            item.fail(String.format("Error processing review page: %s - %s", item.getUrl(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Pipeline parse stage: build the DOM and extract the review (CPU-bound).
+     */
+    private void parsePage(CrawlItem item) {
+        if (item.isFailed()) {
+            return;
+        }
+        try {
+            CrawlFlightEvents.PageParsed parsed = new CrawlFlightEvents.PageParsed();
+            parsed.begin();
+            Document doc = item.getPage().parse();
+            parsed.end();
+            if (parsed.shouldCommit()) {
+                parsed.url = item.getUrl();
+                parsed.nodes = doc.getAllElements().size();
+                parsed.commit();
+            }
+            item.setTruncated(item.getPage().isTruncated());
+            // drop the raw bytes as soon as we have the DOM
+            item.setPage(null);
+            CrawlFlightEvents.ReviewExtracted extracted = new CrawlFlightEvents.ReviewExtracted();
+            extracted.begin();
+            CochraneReview review = reviewExtractor.extract(doc, item.getUrl(), item.getTopic());
+            extracted.end();
+            if (extracted.shouldCommit()) {
+                extracted.url = item.getUrl();
+                extracted.extracted = review != null;
+                extracted.sections = review != null ? review.getSections().size() : 0;
+                extracted.commit();
+            }
+            if (review == null) {
+                item.fail(String.format(
+                        "Failed to extract review data from URL: %s - no valid doc or parse error",
+                        item.getUrl()));
+                return;
+            }
+            item.setReview(review);
+        } catch (IOException e) {
+            item.fail(String.format("Error parsing review page: %s - %s", item.getUrl(), e.getMessage()));
+        } catch (RuntimeException e) {
+            // e.g. the extractor tripping over unexpected markup; left unfailed the
+            // item would reach the store stage without a review
+            logger.error("Unexpected error extracting {}: {}", item.getUrl(), e.getMessage(), e);
+            item.fail(String.format("Error parsing review page: %s - %s", item.getUrl(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Pipeline store stage: saves a batch of reviews in one transaction, then
+     * accounts for every item (stored, unchanged or failed) in the crawl
+     * statistics.
+     *
+     * A review whose fingerprint matches the stored one is not written: an
+     * incremental crawl leaves the row alone, a full refresh only flags the live
+     * row as carried over so it survives the generation swap.
+     */
+    private void storeBatch(List<CrawlItem> batch) {
+        List<CochraneReview> added = new ArrayList<>();
+        CrawlFlightEvents.StoreBatch event = new CrawlFlightEvents.StoreBatch();
+        event.begin();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                List<CochraneReview> toSave = new ArrayList<>(batch.size());
+                List<Long> carriedOver = new ArrayList<>();
+                for (CrawlItem item : batch) {
+                    if (item.isFailed()) {
+                        continue;
+                    }
+                    CochraneReview review = item.getReview();
+                    // check DB for existing, or create
+                    Optional<CochraneReview> existing = reviewRepository.findByUrl(item.getUrl());
+                    review.setFirstCrawledAt(existing.isPresent()
+                            ? existing.get().getFirstCrawledAt()
+                            : LocalDateTime.now());
+                    if (existing.isPresent() && isUnchanged(existing.get(), review)) {
+                        item.setUnchanged(true);
+                        if (fullRefresh) {
+                            carriedOver.add(existing.get().getId());
+                        }
+                        continue;
+                    }
+                    if (existing.isPresent() && !fullRefresh) {
+                        // update the stored row in place: a changed page is a
+                        // recrawl check, not a first crawl
+                        CochraneReview stored = existing.get();
+                        copyExtracted(stored, review);
+                        facetService.linkTopic(stored, item.getTopic());
+                        recrawlScheduler.getObject().recordCheck(stored, true, LocalDateTime.now());
+                        item.setReview(stored);
+                        toSave.add(stored);
+                        continue;
+                    }
+                    if (existing.isEmpty() && !fullRefresh) {
+                        linkDuplicate(review);
+                    }
+                    facetService.link(review);
+                    scheduleFirstRecrawl(review);
+                    review.setShadow(fullRefresh);
+                    toSave.add(review);
+                    if (existing.isEmpty()) {
+                        added.add(review);
+                    }
+                }
+                reviewRepository.saveAll(toSave);
+                if (!carriedOver.isEmpty()) {
+                    reviewRepository.markCarriedOver(carriedOver);
+                }
+            });
+            event.end();
+        } catch (RuntimeException e) {
+            event.end();
+            event.rolledBack = true;
+            logger.error("Failed to store batch of {} reviews: {}", batch.size(), e.getMessage(), e);
+            added.clear();
+            for (CrawlItem item : batch) {
+                if (!item.isFailed()) {
+                    item.setUnchanged(false);
+                    item.fail(String.format("Error storing review: %s - %s", item.getUrl(), e.getMessage()));
+                }
+            }
+        }
+        if (event.shouldCommit()) {
+            event.items = batch.size();
+            event.unchanged = (int) batch.stream().filter(CrawlItem::isUnchanged).count();
+            event.failed = (int) batch.stream().filter(CrawlItem::isFailed).count();
+            event.written = event.items - event.unchanged - event.failed;
+            event.commit();
+        }
+        recordBatch(batch, added);
+    }
+
+    private static boolean isUnchanged(CochraneReview stored, CochraneReview fresh) {
+        return stored.getCrawlStatus() == CochraneReview.CrawlStatus.COMPLETED
+                && fresh.getContentHash() != null
+                && fresh.getContentHash().equals(stored.getContentHash());
+    }
+
+    /**
+     * Links a new review to an already stored copy of it. An exact fingerprint
+     * match keeps only the link and metadata, not a second copy of the text; a
+     * SimHash within crawler.near-duplicate-max-distance of another version of
+     * the same review (same DOI without the .pubN suffix) is linked but keeps
+     * its text. Incremental crawls only, a full refresh has no stable ids to
+     * link to until the swap.
+     */
+    private void linkDuplicate(CochraneReview review) {
+        Optional<CochraneReview> exact = review.getContentHash() != null
+                ? reviewRepository.findFirstByContentHashAndUrlNot(review.getContentHash(), review.getUrl())
+                : Optional.empty();
+        if (exact.isPresent()) {
+            review.setDuplicateOfId(canonicalId(exact.get()));
+            review.setContent(null);
+            review.setAbstractText(null);
+            review.setPlainLanguageSummary(null);
+            review.setSections(new ArrayList<>());
+            logger.info("Review {} duplicates review {}, storing a link only", review.getUrl(),
+                    review.getDuplicateOfId());
+            return;
+        }
+
+        String stem = ContentFingerprints.doiStem(review.getDoi());
+        if (stem == null || review.getSimHash() == null) {
+            return;
+        }
+        for (CochraneReview candidate : reviewRepository.findByDoiStartingWith(stem)) {
+            if (candidate.getSimHash() != null && ContentFingerprints.hammingDistance(candidate.getSimHash(),
+                    review.getSimHash()) <= crawlerConfig.getNearDuplicateMaxDistance()) {
+                review.setDuplicateOfId(canonicalId(candidate));
+                logger.info("Review {} is a near duplicate of review {}", review.getUrl(), review.getDuplicateOfId());
+                return;
             }
-            String title = titleElement.text().trim();
-
-            // We can attempt to find authors from the detail page if present
-            // but let's keep the listing page approach. Some detail pages show authors in a
-            // different place:
-            Element authorsEl = doc.selectFirst("div.article-authors__list");
-            String authors = authorsEl != null
-                    ? authorsEl.text().trim()
-                    : "(authors not found in detail)";
-
-            // The detail page might have the published date in a different place; let's
-            // skip or do a fallback
-            LocalDate pubDate = null; // We'll rely on listing page for date. Or parse if you see a new location
-
-            // The main text might be in <div class="article-section__text">
-            Element contentEl = doc.selectFirst("div.article-section__text");
-            // fallback if that is null:
-            if (contentEl == null) {
-                // sometimes it might be in .article-section__content or another container
-                contentEl = doc.selectFirst("div.article-section__content");
+        }
+    }
+
+    private static Long canonicalId(CochraneReview review) {
+        return review.getDuplicateOfId() != null ? review.getDuplicateOfId() : review.getId();
+    }
+
+    private synchronized void recordBatch(List<CrawlItem> batch, List<CochraneReview> added) {
+        CrawlerStatistics currentStats = statistics();
+        Set<CochraneReview> addedReviews = Collections.newSetFromMap(new IdentityHashMap<>());
+        addedReviews.addAll(added);
+        List<String> fetched = new ArrayList<>(batch.size());
+        for (CrawlItem item : batch) {
+            currentStats.setLastProcessedUrl(item.getUrl());
+            if (item.isFailed()) {
+                logger.warn(item.getError());
+                deadLetter(item);
+                CrawlEvents.reviewFailed(item.getUrl(), item.getError());
+                currentStats.addError(item.getError());
+                currentStats.setCurrentReview("Failed to fetch or parse detail");
+                currentStats.setFailedReviews(currentStats.getFailedReviews() + 1);
+                continue;
             }
 
-            String contentHtml = contentEl != null ? contentEl.html() : "";
-            // Mark status as COMPLETED if we found a title. We won't consider empty content
-            // a fail here
-            // so we don't get so many "failed to process content" logs.
-            CochraneReview review = new CochraneReview();
-            review.setUrl(url);
-            review.setTopic(topicName);
-            review.setTitle(title);
-            review.setAuthors(authors);
-            review.setPublicationDate(pubDate); // or keep date from listing if you want
-            review.setContent(contentHtml);
-
-            // If we care about the presence of content, check length
-            if (!contentHtml.isEmpty()) {
-                review.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
+            fetched.add(item.getUrl());
+            if (item.isTruncated()) {
+                currentStats.setTruncatedPages(currentStats.getTruncatedPages() + 1);
+                currentStats.addError(String.format("Page truncated at the size cap: %s", item.getUrl()));
+                CrawlEvents.pageTruncated(item.getUrl());
+            }
+            CochraneReview review = item.getReview();
+            currentStats.setCurrentReview(review.getTitle());
+            if (item.isUnchanged()) {
+                currentStats.setUnchangedReviews(currentStats.getUnchangedReviews() + 1);
+                currentStats.setTotalProcessed(currentStats.getTotalProcessed() + 1);
+                CrawlEvents.reviewUnchanged(item.getUrl());
+                continue;
+            }
+            if (review.getCrawlStatus() == CochraneReview.CrawlStatus.COMPLETED) {
+                currentStats.setSuccessfulReviews(currentStats.getSuccessfulReviews() + 1);
+                CrawlEvents.reviewStored(item.getUrl(), review.getCrawlStatus().name(), addedReviews.contains(review));
             } else {
-                // We'll label it COMPLETED anyway, unless you want partial success?
-                // Let's do a partial approach:
-                review.setCrawlStatus(CochraneReview.CrawlStatus.COMPLETED);
+                currentStats.setFailedReviews(currentStats.getFailedReviews() + 1);
+                String err = String.format("Failed to get content: %s (%s)", review.getTitle(), item.getUrl());
+                logger.warn(err);
+                currentStats.addError(err);
+                CrawlEvents.reviewFailed(item.getUrl(), err);
             }
+            currentStats.setTotalProcessed(currentStats.getTotalProcessed() + 1);
+        }
+        currentStats.updateCrawlingSpeed();
+        statisticsRepository.save(currentStats);
+        try {
+            deadLetterService.resolve(fetched);
+        } catch (RuntimeException e) {
+            logger.error("Failed to clear dead letters: {}", e.getMessage(), e);
+        }
 
-            return review;
+        for (CochraneReview review : added) {
+            addNewReview(review);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error extracting detail data from {}: {}", url, e.getMessage());
-            return null;
+    private void deadLetter(CrawlItem item) {
+        FetchException failure = item.getFetchFailure();
+        if (failure == null) {
+            return; // fetched but not extractable or storable, tracked on the review itself
+        }
+        try {
+            deadLetterService.record(item.getUrl(), item.getTopic(), failure.isPermanent(),
+                    failure.getStatusCode(), failure.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Failed to dead-letter {}: {}", item.getUrl(), e.getMessage(), e);
         }
     }
 
     /**
-     * Actually fetch a page with Jsoup, retrying a few times if there's an
-     * IOException.
+     * Re-fetches a single stored review and updates it in place when the extracted
+     * content differs from what we have. Used by the RecrawlScheduler, which owns
+     * the revisit bookkeeping and saves the entity afterwards.
+     *
+     * @return true if the content changed since the last check
      */
-    private Document fetchWithRetry(String url) throws IOException {
-        int retries = 0;
-        IOException lastException = null;
+    public boolean refreshReview(CochraneReview review) throws IOException {
+        return refreshReview(review, false);
+    }
 
-        while (retries < crawlerConfig.getMaxRetries()) {
-            try {
-                // Some sites need ignoreHttpErrors=false so you see 404 statuses, etc.
-                return Jsoup.connect(url)
-                        .userAgent(crawlerConfig.getUserAgent())
-                        .timeout(crawlerConfig.getRequestTimeout())
-                        .maxBodySize(0) // unlimited
-                        .followRedirects(true)
-                        .ignoreHttpErrors(false) // if true, you'll get a doc even if 404
-                        .ignoreContentType(false) // if true, you'll parse e.g. PDFs
-                        .get();
-
-            } catch (IOException e) {
-                lastException = e;
-                retries++;
-                logger.warn("Attempt #{} failed for {}: {}. Retrying in {}ms...",
-                        retries, url, e.getMessage(), crawlerConfig.getRetryDelay());
-                try {
-                    Thread.sleep(crawlerConfig.getRetryDelay() * retries);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new IOException("Interrupted while waiting to retry fetch", e);
-                }
-            }
+    /**
+     * Like {@link #refreshReview(CochraneReview)}; with priority the page is
+     * fetched ahead of the crawl's waiting requests (see
+     * PageFetcher#fetchPriority), for a caller waiting on the result.
+     */
+    public boolean refreshReview(CochraneReview review, boolean priority) throws IOException {
+        Document doc = priority
+                ? pageFetcher.fetchPriority(review.getUrl()).parse()
+                : pageFetcher.fetchDocument(review.getUrl());
+        CochraneReview fresh = reviewExtractor.extract(doc, review.getUrl(), review.getTopic());
+        if (fresh == null) {
+            throw new IOException("Failed to extract review data from URL: " + review.getUrl());
         }
-        logger.error("Failed to fetch {} after {} retries", url, crawlerConfig.getMaxRetries());
-        throw lastException;
+
+        String freshHash = fresh.getContentHash();
+        if (freshHash.equals(review.getContentHash())) {
+            logger.debug("Review unchanged since last check: {}", review.getUrl());
+            return false;
+        }
+
+        logger.info("Review content changed: {} ({})", fresh.getTitle(), review.getUrl());
+        copyExtracted(review, fresh);
+        return true;
+    }
+
+    /**
+     * Copies what the extractor found onto the stored review, leaving its id,
+     * topics, duplicate link and revisit history alone.
+     */
+    private void copyExtracted(CochraneReview stored, CochraneReview fresh) {
+        stored.setTitle(fresh.getTitle());
+        stored.setAuthors(fresh.getAuthors());
+        stored.setAuthorList(facetService.resolveAuthors(fresh.getAuthorList()));
+        stored.setDoi(fresh.getDoi());
+        stored.setPublicationDate(fresh.getPublicationDate());
+        stored.setUpdatedDate(fresh.getUpdatedDate());
+        stored.setAbstractText(fresh.getAbstractText());
+        stored.setPlainLanguageSummary(fresh.getPlainLanguageSummary());
+        stored.setSections(fresh.getSections());
+        stored.setContent(fresh.getContent());
+        stored.setContentHash(fresh.getContentHash());
+        stored.setSimHash(fresh.getSimHash());
     }
 
     // ---------------------------------------------------
@@ -390,23 +838,33 @@ public class CrawlerService {
         return (buttonEl != null) ? buttonEl.text().trim() : topicEl.text().trim();
     }
 
-    // We used to parse date from detail page. We can do it if we see a new place,
-    // but for now if you want to keep listing date approach, we skip or store null.
-
     /**
-     * Example of your date parser if you see something like "2 September 2022" on
-     * the listing or detail page.
+     * Newly stored reviews start with the configured initial revisit interval;
+     * the RecrawlScheduler adapts it from there.
      */
-    private LocalDate parseDate(String dateText) {
-        if (dateText == null || dateText.trim().isEmpty()) {
-            return null;
+    private void scheduleFirstRecrawl(CochraneReview review) {
+        LocalDateTime now = LocalDateTime.now();
+        long intervalMinutes = Duration.ofHours(crawlerConfig.getRecrawlInitialIntervalHours()).toMinutes();
+        if (review.getContentHash() == null) {
+            review.setContentHash(contentHash(review.getContent()));
         }
+        review.setLastCheckedAt(now);
+        review.setRevisitIntervalMinutes(intervalMinutes);
+        review.setNextCrawlAt(now.plusMinutes(intervalMinutes));
+    }
+
+    /**
+     * SHA-256 of the given text, hex encoded. Null hashes like the empty string.
+     * Used for listing fingerprints and for reviews stored without a content
+     * fingerprint (see ContentFingerprints).
+     */
+    static String contentHash(String content) {
         try {
-            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
-            return LocalDate.parse(dateText.trim(), fmt);
-        } catch (Exception e) {
-            logger.warn("Failed to parse date: {}", dateText);
-            return null;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -416,22 +874,71 @@ public class CrawlerService {
      */
     private void initNewStats(boolean updateExisting) {
         logger.info("Initializing new crawler statistics");
-        currentStats = new CrawlerStatistics();
-        currentStats.setStartTime(LocalDateTime.now());
-        currentStats.setRunning(true);
-        currentStats.setTotalProcessed(0);
-        currentStats.setSuccessfulReviews(0);
-        currentStats.setFailedReviews(0);
-        statisticsRepository.save(currentStats);
+        CrawlerStatistics stats = new CrawlerStatistics();
+        stats.setStartTime(LocalDateTime.now());
+        stats.setRunning(true);
+        stats.setTotalProcessed(0);
+        stats.setSuccessfulReviews(0);
+        stats.setFailedReviews(0);
+        synchronized (this) {
+            currentStats = stats;
+            statisticsRepository.save(currentStats);
+        }
 
+        fullRefresh = updateExisting;
         if (updateExisting) {
-            logger.info("Clearing existing data for full refresh");
-            reviewRepository.deleteAll();
-            seenUrls.clear();
+            // The live corpus stays readable; we crawl into a fresh shadow generation
+            logger.info("Starting full refresh into a shadow generation");
+            generationService.discardShadow();
         }
+        // per crawl: reviews fetched by an earlier crawl are found via the database
+        seenReviews.clear();
         crawlStartTime = LocalDateTime.now();
         processedCount.set(0);
-        newReviews.clear();
+        synchronized (recentReviews) {
+            recentReviews.clear();
+        }
+        topicMembers.clear();
+        permanentFailures = deadLetterService.permanentUrls();
+    }
+
+    /**
+     * For a full refresh, swap the shadow generation in if the crawl ran to
+     * completion, otherwise drop it and keep serving the previous corpus.
+     */
+    private void finishGeneration(boolean completed) {
+        if (!fullRefresh) {
+            return;
+        }
+        fullRefresh = false;
+        try {
+            if (completed) {
+                generationService.promoteShadow();
+            } else {
+                logger.info("Full refresh did not complete, keeping the previous corpus");
+                generationService.discardShadow();
+            }
+        } catch (Exception e) {
+            String errorMsg = "Failed to finish full refresh generation: " + e.getMessage();
+            logger.error(errorMsg, e);
+            updateStats(stats -> stats.addError(errorMsg));
+        }
+    }
+
+    private void refreshFacetCounts() {
+        try {
+            facetService.refreshCounts();
+        } catch (Exception e) {
+            logger.error("Failed to refresh facet counts: {}", e.getMessage(), e);
+        }
+    }
+
+    private void crawlFinished(boolean completed) {
+        CrawlerStatistics stats = statistics();
+        LocalDateTime start = crawlStartTime;
+        CrawlEvents.crawlFinished(completed, stats.getTotalProcessed(), stats.getSuccessfulReviews(),
+                stats.getFailedReviews(), stats.getUnchangedReviews(),
+                start != null ? Duration.between(start, LocalDateTime.now()).toMillis() : 0);
     }
 
     /**
@@ -441,9 +948,10 @@ public class CrawlerService {
         logger.info("Finalizing crawler state");
         isRunning.set(false);
         if (currentStats != null) {
-            currentStats.setRunning(false);
-            currentStats.setLastUpdateTime(LocalDateTime.now());
-            statisticsRepository.save(currentStats);
+            updateStats(stats -> {
+                stats.setRunning(false);
+                stats.setLastUpdateTime(LocalDateTime.now());
+            });
             logger.info("Crawler statistics saved. Last update time: {}", currentStats.getLastUpdateTime());
         }
         lastRunTime = LocalDateTime.now();
@@ -452,37 +960,83 @@ public class CrawlerService {
     }
 
     /**
-     * If we want to re-extract content for previously failed items.
+     * Redrive of everything that failed: dead-lettered URLs whose last failure
+     * was transient and stored reviews whose content extraction failed. They
+     * go through a crawl pipeline, so they are fetched in parallel within the
+     * politeness budget. Once the origin's circuit opens, the remaining URLs
+     * are left for the next redrive rather than failed again.
+     *
+     * Runs as a RETRY_FAILED job (see ReviewController). It holds the same
+     * running flag as a crawl, so the two never overlap: a crawl started
+     * meanwhile is skipped, and stopCrawler() stops the redrive.
      */
-    @Transactional
-    public int retryFailedContent(List<CochraneReview> failedReviews) {
-        int retriedCount = 0;
-        logger.info("Retrying content extraction for {} failed reviews", failedReviews.size());
+    public Map<String, Object> redriveFailed() throws InterruptedException {
+        if (!isRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A crawl is running, redrive skipped");
+        }
+        try {
+            return redrive();
+        } finally {
+            isRunning.set(false);
+        }
+    }
 
-        for (CochraneReview review : failedReviews) {
-            try {
-                Thread.sleep(RATE_LIMIT_MS);
-                processReviewPage(review.getUrl(), review.getTopic());
-                retriedCount++;
-            } catch (Exception e) {
-                logger.error("Failed to retry content extraction for review {}: {}",
-                        review.getUrl(), e.getMessage(), e);
+    private Map<String, Object> redrive() throws InterruptedException {
+        // URL -> topic; a failed review may also be dead-lettered
+        Map<String, String> candidates = new LinkedHashMap<>();
+        deadLetterService.redriveCandidates().forEach(letter -> candidates.put(letter.getUrl(), letter.getTopic()));
+        reviewRepository.findByCrawlStatus(CochraneReview.CrawlStatus.FAILED)
+                .forEach(review -> candidates.putIfAbsent(review.getUrl(), review.getTopic()));
+        logger.info("Redriving {} failed review URLs", candidates.size());
+
+        int submitted = 0;
+        CrawlPipeline pipeline = new CrawlPipeline(crawlerConfig, this::fetchPage, this::parsePage, this::storeBatch);
+        pipeline.start();
+        try {
+            for (Map.Entry<String, String> candidate : candidates.entrySet()) {
+                if (!isRunning.get() || pageFetcher.isCircuitOpen(candidate.getKey())) {
+                    logger.info("Origin unavailable or redrive stopped, deferring {} URLs to the next redrive",
+                            candidates.size() - submitted);
+                    break;
+                }
+                pipeline.submit(candidate.getKey(), candidate.getValue());
+                submitted++;
+            }
+            if (isRunning.get()) {
+                pipeline.finish();
+            } else {
+                pipeline.cancel();
             }
+        } catch (InterruptedException e) {
+            pipeline.cancel();
+            throw e;
         }
-        logger.info("Successfully retried content extraction for {} out of {} reviews",
-                retriedCount, failedReviews.size());
-        return retriedCount;
+
+        long stillFailing = deadLetterService.countRedrivable()
+                + reviewRepository.countByCrawlStatus(CochraneReview.CrawlStatus.FAILED);
+        logger.info("Redrive finished: {} of {} URLs retried, {} still failing", submitted, candidates.size(),
+                stillFailing);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalFailed", candidates.size());
+        result.put("retriedCount", submitted);
+        result.put("deferred", candidates.size() - submitted);
+        result.put("stillFailing", stillFailing);
+        return result;
     }
 
     /**
      * Returns the current status (running, stats, etc.).
      */
     public CrawlerStatus getStatus() {
+        CrawlerStatistics currentStats = statistics();
         CrawlerStatus status = new CrawlerStatus();
         status.setRunning(isRunning.get());
         status.setLastRun(lastRunTime);
         status.setTotalProcessed(currentStats.getTotalProcessed());
-        status.setNewReviews(newReviews);
+        synchronized (recentReviews) {
+            status.setNewReviews(new ArrayList<>(recentReviews));
+        }
+        status.setNewReviewCount(processedCount.get());
         status.setCrawlingSpeed(currentStats.getCrawlingSpeed());
         status.setCurrentTopic(currentStats.getCurrentTopic());
         status.setCurrentReview(currentStats.getCurrentReview());
@@ -490,9 +1044,27 @@ public class CrawlerService {
         status.setProcessedTopics(currentStats.getProcessedTopicsList());
         status.setSuccessfulReviews(currentStats.getSuccessfulReviews());
         status.setFailedReviews(currentStats.getFailedReviews());
+        status.setUnchangedReviews(currentStats.getUnchangedReviews());
+        status.setTruncatedPages(currentStats.getTruncatedPages());
+        status.setPipelineStages(getPipelineStats());
         return status;
     }
 
+    /**
+     * Queue depth and utilization per pipeline stage of the running crawl.
+     */
+    public List<PipelineStageStats> getPipelineStats() {
+        CrawlPipeline pipeline = activePipeline;
+        return pipeline != null ? pipeline.stats() : List.of();
+    }
+
+    /**
+     * True while a full topic crawl or a redrive is in progress.
+     */
+    public boolean isCrawling() {
+        return isRunning.get();
+    }
+
     /**
      * Toggles the crawler on/off. If it's running, this tries to stop. If it's
      * stopped, it calls startCrawler().
@@ -508,21 +1080,15 @@ public class CrawlerService {
     }
 
     /**
-     * Manually starts the crawler in a new thread, calling crawlAllTopics(true).
-     * Remove the concurrency check here so that crawlAllTopics can do it.
+     * Manually starts an incremental crawl as a CRAWL job. Returns null when
+     * a crawl is already running; crawlAllTopics still does the authoritative
+     * concurrency check.
      */
-    public void startCrawler() {
-        if (!isRunning.get()) {
-            Thread crawlerThread = new Thread(() -> {
-                try {
-                    crawlAllTopics(false);
-                } catch (Exception e) {
-                    logger.error("Error in crawler thread: ", e);
-                }
-            });
-            crawlerThread.setDaemon(true);
-            crawlerThread.start();
+    public Job startCrawler() {
+        if (isRunning.get()) {
+            return null;
         }
+        return submitCrawl("manual crawl", false);
     }
 
     /**
@@ -533,8 +1099,7 @@ public class CrawlerService {
     public void stopCrawler() {
         isRunning.set(false);
         if (currentStats != null) {
-            currentStats.setRunning(false);
-            statisticsRepository.save(currentStats);
+            updateStats(stats -> stats.setRunning(false));
         }
     }
 
@@ -551,11 +1116,27 @@ public class CrawlerService {
     }
 
     /**
-     * Called whenever we add a new review record to the DB so that we can keep an
-     * in-memory list if we want to do something with them after the crawl.
+     * Called whenever we add a new review record to the DB. Only a summary of
+     * the newest few is kept in memory, so the heap doesn't grow with the crawl.
      */
     public void addNewReview(CochraneReview review) {
-        newReviews.add(review);
+        ReviewSummary summary = ReviewSummary.of(review);
+        synchronized (recentReviews) {
+            recentReviews.addLast(summary);
+            while (recentReviews.size() > Math.max(0, crawlerConfig.getRecentReviewsWindow())) {
+                recentReviews.removeFirst();
+            }
+        }
         processedCount.incrementAndGet();
     }
+
+    /**
+     * A page of the reviews first stored since the given time, by default since
+     * the start of the current or last crawl; newest first.
+     */
+    public Page<ReviewSummary> getNewReviews(LocalDateTime since, Pageable pageable) {
+        LocalDateTime from = since != null ? since : crawlStartTime;
+        return reviewRepository.findSummariesFirstCrawledSince(
+                from != null ? from : LocalDateTime.of(1, 1, 1, 0, 0), pageable);
+    }
 }
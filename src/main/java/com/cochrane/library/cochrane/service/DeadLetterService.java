@@ -0,0 +1,101 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.DeadLetter;
+import com.cochrane.library.cochrane.repository.DeadLetterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bookkeeping for review URLs whose detail page failed to download: one
+ * dead_letters row per URL with its recent failure history.
+ */
+@Service
+public class DeadLetterService {
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final CrawlerConfig crawlerConfig;
+
+    @Autowired
+    public DeadLetterService(DeadLetterRepository deadLetterRepository, CrawlerConfig crawlerConfig) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.crawlerConfig = crawlerConfig;
+    }
+
+    /**
+     * Adds a failure to the URL's dead letter, creating it on the first one.
+     * The latest failure decides whether the URL counts as permanently failed.
+     */
+    @Transactional
+    public DeadLetter record(String url, String topic, boolean permanent, int statusCode, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        DeadLetter letter = deadLetterRepository.findByUrl(url).orElseGet(() -> {
+            DeadLetter created = new DeadLetter(url, topic);
+            created.setFirstFailedAt(now);
+            return created;
+        });
+        letter.setPermanent(permanent);
+        letter.setLastStatusCode(statusCode);
+        letter.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        letter.setFailureCount(letter.getFailureCount() + 1);
+        letter.setLastFailedAt(now);
+        letter.setFailureHistory(appendHistory(letter.getFailureHistory(),
+                now + " " + (statusCode > 0 ? statusCode : "-") + " " + error));
+        return deadLetterRepository.save(letter);
+    }
+
+    /**
+     * Drops the dead letters of URLs that were fetched and stored after all.
+     */
+    @Transactional
+    public int resolve(Collection<String> urls) {
+        return urls.isEmpty() ? 0 : deadLetterRepository.deleteByUrlIn(urls);
+    }
+
+    /**
+     * URLs that failed permanently, for crawls to skip.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> permanentUrls() {
+        return new HashSet<>(deadLetterRepository.findPermanentUrls());
+    }
+
+    /**
+     * Transiently failed URLs, longest waiting first.
+     */
+    @Transactional(readOnly = true)
+    public List<DeadLetter> redriveCandidates() {
+        return deadLetterRepository.findByPermanentOrderByLastFailedAtAsc(false);
+    }
+
+    @Transactional(readOnly = true)
+    public long countRedrivable() {
+        return deadLetterRepository.countByPermanent(false);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DeadLetter> list(boolean permanent, Pageable pageable) {
+        return deadLetterRepository.findByPermanent(permanent, pageable);
+    }
+
+    private String appendHistory(String history, String entry) {
+        String appended = history == null || history.isEmpty() ? entry : history + "\n" + entry;
+        int keep = Math.max(1, crawlerConfig.getDeadLetterHistorySize());
+        int lines = 0;
+        for (int i = appended.length() - 1; i >= 0; i--) {
+            if (appended.charAt(i) == '\n' && ++lines == keep) {
+                return appended.substring(i + 1);
+            }
+        }
+        return appended;
+    }
+}
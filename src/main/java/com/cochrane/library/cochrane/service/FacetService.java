@@ -0,0 +1,309 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.Author;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.FacetBrowseResult;
+import com.cochrane.library.cochrane.model.FacetKeys;
+import com.cochrane.library.cochrane.model.FacetValue;
+import com.cochrane.library.cochrane.model.Topic;
+import com.cochrane.library.cochrane.repository.AuthorRepository;
+import com.cochrane.library.cochrane.repository.TopicRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the normalized authors/topics tables and answers the faceted
+ * browse (topic x year x author).
+ *
+ * Every filter is an equality on an indexed column: the case-folded name_key
+ * of a topic or author reached through its link table, or the review's
+ * publication_year. Unfiltered facet lists come straight from the
+ * precomputed review counts, which are refreshed after each crawl.
+ *
+ * Authors and topics seen for the first time are inserted in their own short
+ * transaction: the crawl's store worker and an on-demand refresh may create
+ * the same one at once, and the loser then reads the winner's row instead of
+ * failing its whole transaction on the unique name_key. A row created for a
+ * batch that is rolled back stays behind with a review count of 0.
+ */
+@Service
+public class FacetService {
+    private static final Logger logger = LoggerFactory.getLogger(FacetService.class);
+
+    private static final int AUTHOR_FACET_LIMIT = 20;
+    // keeps the IN list of a membership insert bounded
+    private static final int LINK_BATCH_SIZE = 500;
+
+    private final AuthorRepository authorRepository;
+    private final TopicRepository topicRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public FacetService(AuthorRepository authorRepository, TopicRepository topicRepository,
+            EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.authorRepository = authorRepository;
+        this.topicRepository = topicRepository;
+        this.entityManager = entityManager;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Replaces the review's extracted (unsaved) authors with the stored ones,
+     * creating authors seen for the first time, and links its topic.
+     */
+    @Transactional
+    public void link(CochraneReview review) {
+        review.setAuthorList(resolveAuthors(review.getAuthorList()));
+        linkTopic(review, review.getTopic());
+    }
+
+    /**
+     * Adds the named topic to the review's topics unless it is already there.
+     */
+    @Transactional
+    public void linkTopic(CochraneReview review, String topicName) {
+        Topic topic = resolveTopic(topicName);
+        if (topic != null && review.getTopics().stream().noneMatch(t -> t.getNameKey().equals(topic.getNameKey()))) {
+            List<Topic> topics = new ArrayList<>(review.getTopics());
+            topics.add(topic);
+            review.setTopics(topics);
+        }
+    }
+
+    /**
+     * Maps authors to their stored rows by name key, in the given order. An
+     * author listed twice on the same review is kept once.
+     */
+    @Transactional
+    public List<Author> resolveAuthors(List<Author> authors) {
+        Map<String, Author> byKey = new LinkedHashMap<>();
+        for (Author author : authors) {
+            byKey.putIfAbsent(author.getNameKey(), author);
+        }
+        if (byKey.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return findOrCreateAuthors(byKey);
+        } catch (DataIntegrityViolationException e) {
+            // created by another transaction meanwhile, which has committed by now
+            logger.debug("Authors created concurrently, looking them up again: {}", e.getMessage());
+            return findOrCreateAuthors(byKey);
+        }
+    }
+
+    private List<Author> findOrCreateAuthors(Map<String, Author> byKey) {
+        Map<String, Author> stored = authorRepository.findByNameKeyIn(byKey.keySet()).stream()
+                .collect(Collectors.toMap(Author::getNameKey, Function.identity()));
+        List<Author> created = new ArrayList<>();
+        List<Author> resolved = new ArrayList<>(byKey.size());
+        for (Map.Entry<String, Author> entry : byKey.entrySet()) {
+            Author author = stored.get(entry.getKey());
+            if (author == null) {
+                author = new Author(entry.getValue().getName());
+                created.add(author);
+            }
+            resolved.add(author);
+        }
+        if (!created.isEmpty()) {
+            newTransaction.executeWithoutResult(status -> authorRepository.saveAll(created));
+        }
+        return resolved;
+    }
+
+    @Transactional
+    public Topic resolveTopic(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String nameKey = FacetKeys.fold(name);
+        Optional<Topic> stored = topicRepository.findByNameKey(nameKey);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        try {
+            return newTransaction.execute(status -> topicRepository.save(new Topic(name.trim())));
+        } catch (DataIntegrityViolationException e) {
+            // created by another transaction meanwhile, which has committed by now
+            return topicRepository.findByNameKey(nameKey).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Records topic memberships seen on the listing pages (topic name -> review
+     * URLs) for reviews that are already stored, without touching the reviews
+     * themselves.
+     *
+     * @return Number of links added
+     */
+    @Transactional
+    public int linkTopicMembers(Map<String, ? extends Collection<String>> urlsByTopic, boolean shadowGeneration) {
+        int linked = 0;
+        for (Map.Entry<String, ? extends Collection<String>> entry : urlsByTopic.entrySet()) {
+            Topic topic = resolveTopic(entry.getKey());
+            if (topic == null) {
+                continue;
+            }
+            List<String> urls = new ArrayList<>(entry.getValue());
+            for (int from = 0; from < urls.size(); from += LINK_BATCH_SIZE) {
+                List<String> batch = urls.subList(from, Math.min(urls.size(), from + LINK_BATCH_SIZE));
+                linked += topicRepository.linkReviewsByUrl(topic.getId(), batch, shadowGeneration);
+            }
+        }
+        return linked;
+    }
+
+    /**
+     * Recomputes the per-topic and per-author review counts of the live corpus.
+     */
+    @Transactional
+    public void refreshCounts() {
+        int topics = topicRepository.refreshReviewCounts();
+        int authors = authorRepository.refreshReviewCounts();
+        logger.info("Refreshed facet counts for {} topics and {} authors", topics, authors);
+    }
+
+    /**
+     * A page of reviews matching the given filters (each optional) with the
+     * counts of every facet under the other two filters.
+     */
+    @Transactional(readOnly = true)
+    public FacetBrowseResult browse(String topic, Integer year, String author, Pageable pageable) {
+        String topicKey = blankToNull(FacetKeys.fold(topic));
+        String authorKey = blankToNull(FacetKeys.fold(author));
+
+        return new FacetBrowseResult(
+                findReviews(topicKey, year, authorKey, pageable),
+                topicFacet(year, authorKey),
+                yearFacet(topicKey, authorKey),
+                authorFacet(topicKey, year));
+    }
+
+    private Page<CochraneReview> findReviews(String topicKey, Integer year, String authorKey, Pageable pageable) {
+        String filter = filterClause(topicKey, year, authorKey);
+        TypedQuery<CochraneReview> query = entityManager.createQuery(
+                "SELECT r FROM CochraneReview r" + filter + " ORDER BY r.publicationDate DESC", CochraneReview.class);
+        bind(query, topicKey, year, authorKey);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        TypedQuery<Long> count = entityManager.createQuery(
+                "SELECT COUNT(r) FROM CochraneReview r" + filter, Long.class);
+        bind(count, topicKey, year, authorKey);
+        return new PageImpl<>(query.getResultList(), pageable, count.getSingleResult());
+    }
+
+    private List<FacetValue> topicFacet(Integer year, String authorKey) {
+        if (year == null && authorKey == null) {
+            return topicRepository.findByReviewCountGreaterThanOrderByNameAsc(0).stream()
+                    .map(t -> new FacetValue(t.getNameKey(), t.getName(), t.getReviewCount()))
+                    .toList();
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT t.nameKey, t.name, COUNT(r) FROM CochraneReview r JOIN r.topics t"
+                        + filterClause(null, year, authorKey)
+                        + " GROUP BY t.nameKey, t.name ORDER BY t.name",
+                Object[].class);
+        bind(query, null, year, authorKey);
+        return toFacetValues(query.getResultList());
+    }
+
+    private List<FacetValue> yearFacet(String topicKey, String authorKey) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT r.publicationYear, r.publicationYear, COUNT(r) FROM CochraneReview r"
+                        + filterClause(topicKey, null, authorKey)
+                        + " AND r.publicationYear IS NOT NULL"
+                        + " GROUP BY r.publicationYear ORDER BY r.publicationYear DESC",
+                Object[].class);
+        bind(query, topicKey, null, authorKey);
+        return toFacetValues(query.getResultList());
+    }
+
+    private List<FacetValue> authorFacet(String topicKey, Integer year) {
+        if (topicKey == null && year == null) {
+            return authorRepository.findByReviewCountGreaterThanOrderByReviewCountDescNameAsc(0,
+                    PageRequest.of(0, AUTHOR_FACET_LIMIT)).stream()
+                    .map(a -> new FacetValue(a.getNameKey(), a.getName(), a.getReviewCount()))
+                    .toList();
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT a.nameKey, a.name, COUNT(r) FROM CochraneReview r JOIN r.authorList a"
+                        + filterClause(topicKey, year, null)
+                        + " GROUP BY a.nameKey, a.name ORDER BY COUNT(r) DESC, a.name",
+                Object[].class);
+        bind(query, topicKey, year, null);
+        query.setMaxResults(AUTHOR_FACET_LIMIT);
+        return toFacetValues(query.getResultList());
+    }
+
+    /**
+     * Joins and WHERE clause for the active filters; always ends in a WHERE so
+     * callers can append further conditions with AND.
+     */
+    private static String filterClause(String topicKey, Integer year, String authorKey) {
+        StringBuilder clause = new StringBuilder();
+        if (topicKey != null) {
+            clause.append(" JOIN r.topics ft");
+        }
+        if (authorKey != null) {
+            clause.append(" JOIN r.authorList fa");
+        }
+        clause.append(" WHERE 1 = 1");
+        if (topicKey != null) {
+            clause.append(" AND ft.nameKey = :topicKey");
+        }
+        if (year != null) {
+            clause.append(" AND r.publicationYear = :year");
+        }
+        if (authorKey != null) {
+            clause.append(" AND fa.nameKey = :authorKey");
+        }
+        return clause.toString();
+    }
+
+    private static void bind(TypedQuery<?> query, String topicKey, Integer year, String authorKey) {
+        if (topicKey != null) {
+            query.setParameter("topicKey", topicKey);
+        }
+        if (year != null) {
+            query.setParameter("year", year);
+        }
+        if (authorKey != null) {
+            query.setParameter("authorKey", authorKey);
+        }
+    }
+
+    private static List<FacetValue> toFacetValues(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new FacetValue(String.valueOf(row[0]), String.valueOf(row[1]), (Long) row[2]))
+                .toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cochrane.library.cochrane.service;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+
+/**
+ * A failed page download, classified so callers know whether trying again can
+ * help. Permanent failures (404, 410 and the other client errors, unsupported
+ * content types, malformed URLs, URLs robots.txt disallows) are never retried. Transient ones (timeouts,
+ * connection errors, 408/429/5xx, an open circuit) are.
+ */
+class FetchException extends IOException {
+
+    private final int statusCode; // 0 when no HTTP response was received
+    private final boolean permanent;
+    private final boolean circuitOpen;
+
+    private FetchException(String message, Throwable cause, int statusCode, boolean permanent, boolean circuitOpen) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.permanent = permanent;
+        this.circuitOpen = circuitOpen;
+    }
+
+    static FetchException classify(IOException e) {
+        if (e instanceof FetchException fetchException) {
+            return fetchException;
+        }
+        if (e instanceof HttpStatusException httpError) {
+            int status = httpError.getStatusCode();
+            return new FetchException("HTTP " + status, e, status, isPermanentStatus(status), false);
+        }
+        boolean permanent = e instanceof UnsupportedMimeTypeException || e instanceof MalformedURLException;
+        return new FetchException(e.getClass().getSimpleName() + ": " + e.getMessage(), e, 0, permanent, false);
+    }
+
+    /**
+     * Fails a request without sending it because the host's circuit is open.
+     */
+    static FetchException circuitOpen(String host) {
+        return new FetchException("Circuit open for " + host, null, 0, false, true);
+    }
+
+    /**
+     * Fails a request without sending it because robots.txt disallows the URL.
+     */
+    static FetchException disallowed(String url) {
+        return new FetchException("Disallowed by robots.txt: " + url, null, 0, true, false);
+    }
+
+    // 408 Request Timeout, 425 Too Early and 429 Too Many Requests are worth another try
+    static boolean isPermanentStatus(int status) {
+        return status >= 400 && status < 500 && status != 408 && status != 425 && status != 429;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    boolean isPermanent() {
+        return permanent;
+    }
+
+    boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+}
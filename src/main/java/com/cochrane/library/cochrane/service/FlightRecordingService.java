@@ -0,0 +1,102 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps a continuous JDK Flight Recorder recording (crawler.flight-recording)
+ * so a slow crawl can be profiled after the fact. It uses the JDK's "default"
+ * settings, which are meant for production (about 1% overhead), plus the
+ * crawl stage events of CrawlFlightEvents, and keeps the last
+ * crawler.flight-recording-max-age-minutes on disk, up to
+ * crawler.flight-recording-max-size-mb.
+ */
+@Service
+@Lazy(false) // records from startup, also with lazy initialization
+public class FlightRecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    static final String RECORDING_NAME = "cochrane-crawler";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // null when disabled or when the JVM has no Flight Recorder (e.g. a native image without it)
+    private final Recording recording;
+
+    @Autowired
+    public FlightRecordingService(CrawlerConfig crawlerConfig) {
+        this.recording = crawlerConfig.isFlightRecording() ? start(crawlerConfig) : null;
+    }
+
+    private static Recording start(CrawlerConfig crawlerConfig) {
+        if (!FlightRecorder.isAvailable()) {
+            logger.info("Flight Recorder not available, crawl recording disabled");
+            return null;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(crawlerConfig.getFlightRecordingMaxAgeMinutes()));
+            recording.setMaxSize(crawlerConfig.getFlightRecordingMaxSizeMb() * 1024L * 1024L);
+            for (Class<? extends Event> type : CrawlFlightEvents.TYPES) {
+                recording.enable(type);
+            }
+            recording.start();
+            logger.info("Started flight recording {}, keeping {} minutes up to {} MB", RECORDING_NAME,
+                    crawlerConfig.getFlightRecordingMaxAgeMinutes(), crawlerConfig.getFlightRecordingMaxSizeMb());
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            logger.warn("Could not start flight recording: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes what the recording holds right now to a new temporary .jfr file,
+     * for the caller to hand out and delete. The recording goes on.
+     *
+     * @throws IllegalStateException when nothing is being recorded
+     */
+    public Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is disabled");
+        }
+        Path file = Files.createTempFile("crawl-" + LocalDateTime.now().format(FILE_TIME) + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        logger.info("Dumped flight recording to {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
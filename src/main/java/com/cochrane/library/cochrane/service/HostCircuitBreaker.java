@@ -0,0 +1,187 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.CircuitBreakerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-host circuit breaker for page fetches.
+ *
+ * A host's circuit opens when at least minimumCalls of its last windowSize
+ * requests were made and failureRateThreshold percent of them failed
+ * transiently. While open, requests to it fail at once instead of waiting
+ * out timeouts and retry delays. After openMillis one probe request is let
+ * through (half-open): success closes the circuit, failure opens it again.
+ *
+ * Permanent failures such as 404 count as successes here, the host answered.
+ */
+final class HostCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(HostCircuitBreaker.class);
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    HostCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis,
+            LongSupplier nanoClock) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Reserves a request to the host. Every successful call must be followed by
+     * exactly one of onSuccess, onFailure or release.
+     *
+     * @throws FetchException when the circuit is open or its probe is in flight
+     */
+    void acquire(String host) throws FetchException {
+        if (!circuit(host).tryAcquire(nanoClock.getAsLong())) {
+            throw FetchException.circuitOpen(host);
+        }
+    }
+
+    void onSuccess(String host) {
+        circuit(host).record(false, nanoClock.getAsLong(), host);
+    }
+
+    void onFailure(String host) {
+        circuit(host).record(true, nanoClock.getAsLong(), host);
+    }
+
+    /**
+     * Gives back a reservation that ended without an outcome, e.g. interrupted
+     * while waiting for the politeness slot.
+     */
+    void release(String host) {
+        circuit(host).release();
+    }
+
+    /**
+     * True while requests to the host would be refused without being sent.
+     */
+    boolean isOpen(String host) {
+        Circuit circuit = circuits.get(host);
+        return circuit != null && circuit.isOpen(nanoClock.getAsLong());
+    }
+
+    State state(String host) {
+        Circuit circuit = circuits.get(host);
+        return circuit != null ? circuit.state : State.CLOSED;
+    }
+
+    List<CircuitBreakerStatus> status() {
+        List<CircuitBreakerStatus> status = new ArrayList<>();
+        circuits.forEach((host, circuit) -> status.add(circuit.status(host)));
+        return status;
+    }
+
+    private Circuit circuit(String host) {
+        return circuits.computeIfAbsent(host, h -> new Circuit());
+    }
+
+    private final class Circuit {
+        // ring of the last windowSize outcomes, true = transient failure
+        private final boolean[] outcomes = new boolean[windowSize];
+        private int calls;
+        private int next;
+        private int failures;
+        private volatile State state = State.CLOSED;
+        private long openUntilNanos;
+        private boolean probeInFlight;
+        private LocalDateTime openedAt;
+        private int timesOpened;
+
+        synchronized boolean tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now - openUntilNanos < 0) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+            }
+            return true;
+        }
+
+        synchronized void record(boolean failed, long now, String host) {
+            if (state == State.HALF_OPEN) {
+                probeInFlight = false;
+                if (failed) {
+                    open(now, host);
+                } else {
+                    logger.info("Circuit for {} closed after a successful probe", host);
+                    state = State.CLOSED;
+                    calls = next = failures = 0;
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return; // a request that was already in flight when it opened
+            }
+            if (calls == windowSize) {
+                if (outcomes[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            outcomes[next] = failed;
+            next = (next + 1) % windowSize;
+            if (failed) {
+                failures++;
+            }
+            if (calls >= minimumCalls && failureRate() >= failureRateThreshold) {
+                open(now, host);
+            }
+        }
+
+        synchronized void release() {
+            probeInFlight = false;
+        }
+
+        synchronized boolean isOpen(long now) {
+            return state == State.OPEN && now - openUntilNanos < 0;
+        }
+
+        synchronized CircuitBreakerStatus status(String host) {
+            return new CircuitBreakerStatus(host, state.name(), calls, failureRate(), openedAt, timesOpened);
+        }
+
+        private double failureRate() {
+            return calls == 0 ? 0 : failures * 100.0 / calls;
+        }
+
+        private void open(long now, String host) {
+            state = State.OPEN;
+            openUntilNanos = now + openNanos;
+            openedAt = LocalDateTime.now();
+            timesOpened++;
+            logger.warn("Circuit for {} opened ({} of the last {} requests failed), failing fast for {}ms",
+                    host, failures, calls, TimeUnit.NANOSECONDS.toMillis(openNanos));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.ExecutorStats;
+import com.cochrane.library.cochrane.model.Job;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs long work (crawls, failed-content retries, recrawl ticks, snapshots)
+ * on named, bounded executors instead of request or scheduler threads, and
+ * tracks each submission as a {@link Job} that can be polled via
+ * /api/jobs/{id}.
+ *
+ * Crawls, retries and maintenance (recrawl ticks and snapshots) have their
+ * own pools so a long crawl never starves retries or maintenance. The crawl
+ * pool has one thread and no queue: a second crawl is rejected rather than
+ * queued behind the first. Retry and maintenance pools queue up to
+ * crawler.job-queue-capacity jobs and reject beyond that.
+ */
+@Service
+public class JobService {
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+
+    // MDC key, so everything a job logs carries its id
+    static final String JOB_ID = "jobId";
+    // finished jobs kept for polling; older ones are forgotten
+    private static final int RETAINED_JOBS = 200;
+
+    private final Map<Job.Type, Pool> pools = new EnumMap<>(Job.Type.class);
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> jobOrder = new ArrayDeque<>();
+
+    @Autowired
+    public JobService(CrawlerConfig crawlerConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        int queueCapacity = Math.max(1, crawlerConfig.getJobQueueCapacity());
+        pools.put(Job.Type.CRAWL, new Pool("crawl-job", 1, 0));
+        pools.put(Job.Type.RETRY_FAILED, new Pool("retry-job", Math.max(1, crawlerConfig.getRetryWorkers()),
+                queueCapacity));
+        Pool maintenance = new Pool("maintenance-job", 1, queueCapacity);
+        pools.put(Job.Type.RECRAWL, maintenance);
+        pools.put(Job.Type.SNAPSHOT, maintenance);
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry.getIfAvailable() : null;
+        if (registry != null) {
+            distinctPools().forEach(pool -> new ExecutorServiceMetrics(pool.executor, pool.name, Tags.empty())
+                    .bindTo(registry));
+        }
+    }
+
+    /**
+     * Queues the work on the pool for its type and returns immediately. The
+     * returned job is REJECTED when that pool is saturated.
+     */
+    public Job submit(Job.Type type, String description, Callable<?> work) {
+        Job job = new Job(UUID.randomUUID().toString(), type, description);
+        remember(job);
+        Pool pool = pools.get(type);
+        try {
+            pool.executor.execute(() -> run(job, work));
+            logger.info("Queued {} job {} ({})", type, job.getId(), description);
+        } catch (RejectedExecutionException e) {
+            pool.rejected.incrementAndGet();
+            job.setStatus(Job.Status.REJECTED);
+            job.setError(pool.name + " is busy");
+            job.setFinishedAt(LocalDateTime.now());
+            logger.info("Rejected {} job ({}): {} is busy", type, description, pool.name);
+        }
+        return job;
+    }
+
+    private void run(Job job, Callable<?> work) {
+        MDC.put(JOB_ID, job.getId());
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(Job.Status.RUNNING);
+        try {
+            job.setResult(work.call());
+            job.setStatus(Job.Status.SUCCEEDED);
+        } catch (Exception e) {
+            logger.error("{} job {} failed: {}", job.getType(), job.getId(), e.getMessage(), e);
+            job.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            job.setStatus(Job.Status.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            MDC.remove(JOB_ID);
+        }
+    }
+
+    public Job get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Retained jobs, newest first.
+     */
+    public List<Job> recent() {
+        List<Job> recent = new ArrayList<>();
+        synchronized (jobOrder) {
+            jobOrder.descendingIterator().forEachRemaining(id -> recent.add(jobs.get(id)));
+        }
+        return recent;
+    }
+
+    public List<ExecutorStats> executorStats() {
+        List<ExecutorStats> stats = new ArrayList<>();
+        distinctPools().forEach(pool -> stats.add(pool.stats()));
+        return stats;
+    }
+
+    private void remember(Job job) {
+        synchronized (jobOrder) {
+            jobs.put(job.getId(), job);
+            jobOrder.addLast(job.getId());
+            // evict the oldest finished jobs; running ones stay pollable
+            Iterator<String> oldestFirst = jobOrder.iterator();
+            while (jobOrder.size() > RETAINED_JOBS && oldestFirst.hasNext()) {
+                String id = oldestFirst.next();
+                if (jobs.get(id).getFinishedAt() != null) {
+                    oldestFirst.remove();
+                    jobs.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Running crawls notice the interrupt via PipelineStage/PageFetcher and
+     * stop; queued jobs are dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        distinctPools().forEach(pool -> pool.executor.shutdownNow());
+    }
+
+    // several job types may share a pool
+    private Set<Pool> distinctPools() {
+        return new LinkedHashSet<>(pools.values());
+    }
+
+    private static final class Pool {
+        final String name;
+        final ThreadPoolExecutor executor;
+        final int queueCapacity;
+        final AtomicLong rejected = new AtomicLong();
+
+        Pool(String name, int threads, int queueCapacity) {
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            BlockingQueue<Runnable> queue = queueCapacity > 0
+                    ? new ArrayBlockingQueue<>(queueCapacity)
+                    : new SynchronousQueue<>();
+            AtomicInteger threadNo = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, r -> {
+                Thread t = new Thread(r, name + "-" + threadNo.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            // idle pools shouldn't pin threads between nightly crawls
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        ExecutorStats stats() {
+            return new ExecutorStats(name, executor.getPoolSize(), executor.getActiveCount(),
+                    executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejected.get());
+        }
+    }
+}
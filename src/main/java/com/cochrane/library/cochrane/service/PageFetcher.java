@@ -0,0 +1,628 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.CircuitBreakerStatus;
+import jakarta.annotation.PreDestroy;
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network side of the crawl: downloads pages with retries and keeps all fetch
+ * workers within one shared politeness budget (one request start per
+ * crawler.delay-between-requests), no matter how many run in parallel.
+ * Parsing is left to the caller so it can run on a different thread.
+ *
+ * Failures are classified (see FetchException): permanent ones are thrown
+ * right away, transient ones are retried unless the host's circuit opens, in
+ * which case every request to that host fails immediately until a probe
+ * succeeds. An origin outage then costs a few failed requests instead of
+ * every remaining URL sleeping through its full retry budget.
+ *
+ * Timeouts follow the observed download times per host (see
+ * AdaptiveTimeouts), so a stuck connection costs a few times the usual p99
+ * rather than the full crawler.request-timeout. With crawler.hedge-requests a
+ * download still running after the host's p95 gets a second, identical
+ * request if a politeness slot is free right then, and whichever answers
+ * first wins.
+ *
+ * Bodies are streamed into a buffer capped per content type
+ * (crawler.max-body-bytes, crawler.default-max-body-bytes) and can stop at a
+ * caller-supplied marker, so a huge or unexpected response never lands on the
+ * heap in full. Non-text content types are refused before the body is read.
+ *
+ * With crawler.respect-robots-txt each origin's robots.txt is fetched once per
+ * crawler.robots-cache-millis: disallowed URLs fail permanently without a
+ * request, and a Crawl-delay longer than crawler.delay-between-requests
+ * (up to crawler.max-crawl-delay-millis) spaces the requests to that origin.
+ *
+ * Downloads, retry backoffs and politeness waits are recorded as Flight
+ * Recorder events (see CrawlFlightEvents).
+ *
+ * {@link #fetchPriority} is for a caller waiting on one page: it takes the
+ * next free request slot ahead of every crawl fetch still waiting for one,
+ * but is spaced like any other request.
+ */
+@Component
+public class PageFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(PageFetcher.class);
+
+    private final CrawlerConfig crawlerConfig;
+    private final HostCircuitBreaker circuitBreaker;
+    private final AdaptiveTimeouts adaptiveTimeouts;
+    // runs downloads that may be hedged; when it is saturated, downloads run
+    // on the caller's thread without a hedge
+    private final ThreadPoolExecutor downloadPool;
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    // origin -> its parsed robots.txt, see robotsRules
+    private final ConcurrentMap<String, CachedRobots> robots = new ConcurrentHashMap<>();
+    // origin -> its robots.txt load in progress
+    private final ConcurrentMap<String, CompletableFuture<RobotsRules>> robotsLoads = new ConcurrentHashMap<>();
+
+    // next time (System.nanoTime) a request may start
+    private long nextSlotNanos = System.nanoTime();
+    // priority fetches waiting for a slot; other fetches let them go first
+    private int priorityWaiters;
+
+    private record CachedRobots(RobotsRules rules, long expiresNanos) {
+    }
+
+    // what a download accepts, threaded through retries and hedges
+    private record Request(List<byte[]> stopMarkers, boolean anyContentType, boolean priority) {
+    }
+
+    @Autowired
+    public PageFetcher(CrawlerConfig crawlerConfig) {
+        this.crawlerConfig = crawlerConfig;
+        this.circuitBreaker = new HostCircuitBreaker(crawlerConfig.getCircuitWindowSize(),
+                crawlerConfig.getCircuitMinimumCalls(), crawlerConfig.getCircuitFailureRateThreshold(),
+                crawlerConfig.getCircuitOpenMillis(), System::nanoTime);
+        this.adaptiveTimeouts = new AdaptiveTimeouts(crawlerConfig);
+        // each fetch worker holds at most a primary and a hedge, plus the topic walk and recrawls
+        int maxDownloads = 2 * (Math.max(1, crawlerConfig.getFetchWorkers()) + 2);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.downloadPool = new ThreadPoolExecutor(0, maxDownloads, 30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "crawl-download-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        downloadPool.shutdownNow();
+    }
+
+    /**
+     * A downloaded, not yet parsed page.
+     */
+    public static class FetchedPage {
+        private final String url;
+        private final int statusCode;
+        private final String charset;
+        private final byte[] body;
+        private final int length;
+        private final boolean truncated;
+
+        public FetchedPage(String url, int statusCode, String charset, byte[] body) {
+            this(url, statusCode, charset, body, body.length, false);
+        }
+
+        FetchedPage(String url, int statusCode, String charset, byte[] body, int length, boolean truncated) {
+            this.url = url;
+            this.statusCode = statusCode;
+            this.charset = supportedCharset(charset);
+            this.body = body;
+            this.length = length;
+            this.truncated = truncated;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public int getSize() {
+            return length;
+        }
+
+        /**
+         * True when the body was cut off at the size cap for its content type.
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * The raw body, for pages that are not parsed as HTML.
+         */
+        public InputStream openStream() {
+            return new ByteArrayInputStream(body, 0, length);
+        }
+
+        /**
+         * CPU-bound part: build the DOM from the downloaded bytes.
+         */
+        public Document parse() throws IOException {
+            return Jsoup.parse(new ByteArrayInputStream(body, 0, length), charset, url);
+        }
+
+        // An unknown or malformed charset header would make the parse fail; without
+        // one, Jsoup detects the charset from the BOM or <meta> and falls back to UTF-8
+        private static String supportedCharset(String charset) {
+            try {
+                return charset != null && Charset.isSupported(charset) ? charset : null;
+            } catch (IllegalCharsetNameException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Convenience for callers that want the DOM right away.
+     */
+    public Document fetchDocument(String url) throws IOException {
+        return fetch(url).parse();
+    }
+
+    /**
+     * Actually fetch a page with Jsoup, retrying transient failures a few
+     * times.
+     *
+     * @throws FetchException classified as permanent, transient or circuit open
+     */
+    public FetchedPage fetch(String url) throws IOException {
+        return fetch(url, List.of());
+    }
+
+    /**
+     * Like {@link #fetch(String)}, but stops reading the body at the first of
+     * the stop markers; everything from the marker on is dropped.
+     */
+    public FetchedPage fetch(String url, List<String> stopMarkers) throws IOException {
+        List<byte[]> markers = stopMarkers.stream().map(m -> m.getBytes(StandardCharsets.UTF_8)).toList();
+        checkRobots(url);
+        return fetchAttempts(url, new Request(markers, false, false));
+    }
+
+    /**
+     * Like {@link #fetch(String)}, but the request starts in the next free
+     * politeness slot, before any fetch that was already waiting for one.
+     */
+    public FetchedPage fetchPriority(String url) throws IOException {
+        checkRobots(url);
+        return fetchAttempts(url, new Request(List.of(), false, true));
+    }
+
+    /**
+     * Fetches a resource of any content type, e.g. a gzipped sitemap, with the
+     * same retries, politeness and robots.txt rules as pages.
+     */
+    public FetchedPage fetchResource(String url) throws IOException {
+        checkRobots(url);
+        return fetchAttempts(url, new Request(List.of(), true, false));
+    }
+
+    private FetchedPage fetchAttempts(String url, Request request) throws IOException {
+        return fetchAttempts(url, request, crawlerConfig.getMaxRetries());
+    }
+
+    private FetchedPage fetchAttempts(String url, Request request, int maxAttempts) throws IOException {
+        String host = host(url);
+        String origin = ReviewUrls.origin(url);
+        int attempts = 0;
+
+        while (true) {
+            circuitBreaker.acquire(host);
+            attempts++;
+            boolean recorded = false;
+            try {
+                awaitPolitenessSlot(origin, request.priority());
+                FetchedPage page = download(url, host, origin, adaptiveTimeouts.timeoutMillis(host, attempts), request);
+                circuitBreaker.onSuccess(host);
+                recorded = true;
+                return page;
+
+            } catch (IOException | UncheckedIOException e) {
+                FetchException failure = FetchException.classify(
+                        e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : (IOException) e);
+                if (failure.isPermanent()) {
+                    // the host answered, only this URL is bad
+                    circuitBreaker.onSuccess(host);
+                    recorded = true;
+                    logger.warn("Permanent failure for {}: {}", url, failure.getMessage());
+                    throw failure;
+                }
+                circuitBreaker.onFailure(host);
+                recorded = true;
+                if (attempts >= maxAttempts) {
+                    logger.error("Failed to fetch {} after {} attempts: {}", url, attempts, failure.getMessage());
+                    throw failure;
+                }
+                long delay = crawlerConfig.getRetryDelay() * attempts;
+                logger.warn("Attempt #{} failed for {}: {}. Retrying in {}ms...",
+                        attempts, url, failure.getMessage(), delay);
+                CrawlFlightEvents.RetryBackoff backoff = new CrawlFlightEvents.RetryBackoff();
+                backoff.begin();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting to retry fetch", e);
+                } finally {
+                    backoff.url = url;
+                    backoff.attempt = attempts;
+                    backoff.delay = delay;
+                    backoff.commit();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while fetching " + url, e);
+            } finally {
+                if (!recorded) {
+                    circuitBreaker.release(host);
+                }
+            }
+        }
+    }
+
+    /**
+     * One download attempt, hedged once the host's p95 has passed.
+     */
+    private FetchedPage download(String url, String host, String origin, int timeoutMillis, Request request)
+            throws IOException, InterruptedException {
+        long hedgeDelayMillis = adaptiveTimeouts.hedgeDelayMillis(host);
+        CompletableFuture<FetchedPage> primary = hedgeDelayMillis < 0 ? null : startDownload(url, host, timeoutMillis, request);
+        if (primary == null) {
+            return timedDownload(url, host, timeoutMillis, request);
+        }
+        try {
+            return primary.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException slow) {
+            // past p95, hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        CompletableFuture<FetchedPage> hedge = !circuitBreaker.isOpen(host) && tryTakePolitenessSlot(origin)
+                ? startDownload(url, host, timeoutMillis, request)
+                : null;
+        if (hedge == null) {
+            return await(primary);
+        }
+        hedgedRequests.incrementAndGet();
+        logger.debug("Hedging {} after {}ms", url, hedgeDelayMillis);
+
+        // first success wins; fail only when both failed
+        CompletableFuture<FetchedPage> first = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        for (CompletableFuture<FetchedPage> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((page, error) -> {
+                if (error == null) {
+                    first.complete(page);
+                } else if (failed.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        FetchedPage page = await(first);
+        if (hedge.isDone() && !hedge.isCompletedExceptionally() && page == hedge.join()) {
+            hedgeWins.incrementAndGet();
+        }
+        // the loser finishes or times out on its own
+        return page;
+    }
+
+    private CompletableFuture<FetchedPage> startDownload(String url, String host, int timeoutMillis,
+            Request request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return timedDownload(url, host, timeoutMillis, request);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, downloadPool);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private FetchedPage timedDownload(String url, String host, int timeoutMillis, Request request)
+            throws IOException {
+        CrawlFlightEvents.PageFetched event = new CrawlFlightEvents.PageFetched();
+        event.url = url;
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            // Some sites need ignoreHttpErrors=false so you see 404 statuses, etc.
+            Connection.Response response = Jsoup.connect(url)
+                    .userAgent(crawlerConfig.getUserAgent())
+                    .timeout(timeoutMillis)
+                    .maxBodySize(0) // capped below while streaming
+                    .followRedirects(true)
+                    .ignoreHttpErrors(false) // if true, you'll get a doc even if 404
+                    .ignoreContentType(request.anyContentType()) // else refuses PDFs etc. before the body is read
+                    .execute();
+            event.status = response.statusCode();
+            int maxBytes = maxBodyBytes(response.contentType());
+            BoundedBody body;
+            try (InputStream in = response.bodyStream()) {
+                body = BoundedBody.read(in, maxBytes, contentLength(response), request.stopMarkers());
+            }
+            adaptiveTimeouts.record(host, System.nanoTime() - start);
+            event.bytes = body.length();
+            event.truncated = body.isTruncated();
+            if (body.isTruncated()) {
+                logger.warn("Truncated {} at {} bytes ({})", url, maxBytes, response.contentType());
+            } else if (body.isStoppedAtMarker()) {
+                logger.debug("Stopped reading {} at a stop marker after {} bytes", url, body.length());
+            }
+            return new FetchedPage(response.url().toExternalForm(), response.statusCode(), response.charset(),
+                    body.bytes(), body.length(), body.isTruncated());
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof HttpStatusException httpError) {
+                event.status = httpError.getStatusCode();
+            }
+            event.failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private int maxBodyBytes(String contentType) {
+        String mediaType = contentType == null ? ""
+                : contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        Integer cap = crawlerConfig.getMaxBodyBytes().get(mediaType);
+        return cap != null ? cap : crawlerConfig.getDefaultMaxBodyBytes();
+    }
+
+    private static long contentLength(Connection.Response response) {
+        String header = response.header("Content-Length");
+        try {
+            return header != null ? Long.parseLong(header.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static FetchedPage await(CompletableFuture<FetchedPage> download)
+            throws IOException, InterruptedException {
+        try {
+            return download.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static IOException unwrap(Throwable error) {
+        if (error instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (error instanceof IOException io) {
+            return io;
+        }
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(error);
+    }
+
+    /**
+     * Hedge requests issued, and how many of them answered before the
+     * original request.
+     */
+    public long hedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * True while requests to the URL's host are refused by its circuit
+     * breaker, so callers can hold back work instead of failing it.
+     */
+    public boolean isCircuitOpen(String url) {
+        return circuitBreaker.isOpen(host(url));
+    }
+
+    public List<CircuitBreakerStatus> circuitStatus() {
+        return circuitBreaker.status();
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Sitemap URLs the origin's robots.txt lists, empty when robots.txt is not
+     * consulted.
+     */
+    public List<String> sitemaps(String url) {
+        return crawlerConfig.isRespectRobotsTxt() ? robotsRules(ReviewUrls.origin(url)).sitemaps() : List.of();
+    }
+
+    private void checkRobots(String url) throws FetchException {
+        if (!crawlerConfig.isRespectRobotsTxt()) {
+            return;
+        }
+        String origin = ReviewUrls.origin(url);
+        String path = url.substring(origin.length());
+        if (!robotsRules(origin).isAllowed(path.isEmpty() ? "/" : path)) {
+            throw FetchException.disallowed(url);
+        }
+    }
+
+    /**
+     * The origin's robots.txt rules, loaded on first use and after
+     * crawler.robots-cache-millis. One caller per origin loads them, in a
+     * single attempt and without holding a lock; the others keep using the
+     * expired rules meanwhile, and only wait on the very first load.
+     *
+     * A missing robots.txt (4xx) allows everything. One that can't be fetched
+     * right now keeps the previous rules, or allows everything if there are
+     * none, and is tried again after crawler.robots-error-retry-millis:
+     * treating an outage as "disallow all" would dead-letter every URL of the
+     * crawl as permanently failed.
+     */
+    private RobotsRules robotsRules(String origin) {
+        CachedRobots cached = robots.get(origin);
+        if (isFresh(cached)) {
+            return cached.rules();
+        }
+        CompletableFuture<RobotsRules> mine = new CompletableFuture<>();
+        CompletableFuture<RobotsRules> load = robotsLoads.computeIfAbsent(origin, o -> mine);
+        if (load != mine) {
+            return cached != null ? cached.rules() : load.join();
+        }
+        try {
+            // another caller may have finished loading since we looked
+            cached = robots.get(origin);
+            RobotsRules rules = isFresh(cached) ? cached.rules() : loadRobots(origin, cached);
+            mine.complete(rules);
+            return rules;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            robotsLoads.remove(origin, mine);
+        }
+    }
+
+    private static boolean isFresh(CachedRobots cached) {
+        return cached != null && System.nanoTime() - cached.expiresNanos() < 0;
+    }
+
+    private RobotsRules loadRobots(String origin, CachedRobots previous) {
+        RobotsRules rules;
+        long ttlMillis = crawlerConfig.getRobotsCacheMillis();
+        try {
+            FetchedPage page = fetchAttempts(origin + "/robots.txt", new Request(List.of(), true, false), 1);
+            try (InputStream in = page.openStream()) {
+                rules = RobotsRules.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8),
+                        crawlerConfig.getRobotsAgent());
+            }
+            logger.info("Loaded robots.txt of {}: crawl-delay {}ms, {} sitemaps", origin,
+                    rules.crawlDelayMillis(), rules.sitemaps().size());
+        } catch (IOException e) {
+            FetchException failure = FetchException.classify(e);
+            if (failure.isPermanent()) {
+                logger.info("No robots.txt for {} ({}), everything allowed", origin, failure.getMessage());
+                rules = RobotsRules.ALLOW_ALL;
+            } else {
+                logger.warn("Could not load robots.txt of {}: {}", origin, failure.getMessage());
+                rules = previous != null ? previous.rules() : RobotsRules.ALLOW_ALL;
+                ttlMillis = crawlerConfig.getRobotsErrorRetryMillis();
+            }
+        }
+        robots.put(origin, new CachedRobots(rules, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+        return rules;
+    }
+
+    /**
+     * Time between two request starts to the origin: the configured delay, or
+     * the origin's Crawl-delay when that is longer.
+     */
+    private long delayNanos(String origin) {
+        long delayMillis = crawlerConfig.getDelayBetweenRequests();
+        CachedRobots cached = robots.get(origin);
+        if (cached != null && crawlerConfig.isRespectRobotsTxt()) {
+            long crawlDelay = Math.min(cached.rules().crawlDelayMillis(), crawlerConfig.getMaxCrawlDelayMillis());
+            delayMillis = Math.max(delayMillis, crawlDelay);
+        }
+        return TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    }
+
+    /**
+     * Takes the next request slot only if it is free right now and no
+     * priority fetch is waiting for it; hedges never wait for one.
+     */
+    private synchronized boolean tryTakePolitenessSlot(String origin) {
+        long now = System.nanoTime();
+        if (nextSlotNanos - now > 0 || priorityWaiters > 0) {
+            return false;
+        }
+        nextSlotNanos = now + delayNanos(origin);
+        return true;
+    }
+
+    /**
+     * Waits until the next request slot is free and takes it. Slots are taken
+     * when they start rather than reserved in advance, so a priority fetch
+     * arriving later still gets the next one; the others wait while it does.
+     */
+    private void awaitPolitenessSlot(String origin, boolean priority) throws InterruptedException {
+        long delayNanos = delayNanos(origin);
+        CrawlFlightEvents.PolitenessWait event = new CrawlFlightEvents.PolitenessWait();
+        event.begin();
+        synchronized (this) {
+            if (priority) {
+                priorityWaiters++;
+            }
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    long waitNanos = nextSlotNanos - now;
+                    if (!priority && priorityWaiters > 0) {
+                        // woken once the priority fetch took its slot
+                        wait();
+                    } else if (waitNanos > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                    } else {
+                        nextSlotNanos = now + delayNanos;
+                        return;
+                    }
+                }
+            } finally {
+                if (priority) {
+                    priorityWaiters--;
+                    notifyAll();
+                }
+                event.origin = origin;
+                event.priority = priority;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.PipelineStageStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One stage of the crawl pipeline: a bounded input queue drained by a fixed
+ * number of worker threads. Workers hand each processed item to the next
+ * stage, blocking while its queue is full, which is how backpressure travels
+ * upstream. A stage with batchSize &gt; 1 hands its handler up to that many
+ * queued items at once.
+ */
+class PipelineStage<T> {
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStage.class);
+    private static final long POLL_MS = 100;
+
+    private final String name;
+    private final int workers;
+    private final int batchSize;
+    private final BlockingQueue<T> queue;
+    private final Consumer<List<T>> handler;
+    private final PipelineStage<T> next;
+    private final ExecutorService executor;
+    private final CountDownLatch finished;
+
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    private volatile boolean inputClosed;
+    private volatile boolean cancelled;
+
+    PipelineStage(String name, int workers, int capacity, int batchSize,
+            Consumer<List<T>> handler, PipelineStage<T> next) {
+        this.name = name;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.next = next;
+        this.finished = new CountDownLatch(workers);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "crawl-" + name + "-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    /**
+     * Blocks while the queue is full, unless the stage gets cancelled.
+     */
+    void put(T item) throws InterruptedException {
+        while (!cancelled) {
+            if (queue.offer(item, POLL_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * No more input will arrive; workers exit once the queue is drained.
+     */
+    void closeInput() {
+        inputClosed = true;
+    }
+
+    void awaitDrained() throws InterruptedException {
+        finished.await();
+        executor.shutdown();
+    }
+
+    /**
+     * Drops queued items and interrupts the workers.
+     */
+    void cancel() {
+        cancelled = true;
+        queue.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Waits until every worker has exited, e.g. after cancel() once the batch
+     * being handled is done. Not cut short by an interrupt, which is restored
+     * on return.
+     */
+    void awaitStopped() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    PipelineStageStats stats() {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        double utilization = Math.min(1.0, (double) busyNanos.get() / ((double) elapsed * workers));
+        return new PipelineStageStats(name, workers, busyWorkers.get(), queue.size(),
+                queue.size() + queue.remainingCapacity(), processed.get(), utilization);
+    }
+
+    private void work() {
+        List<T> batch = new ArrayList<>(batchSize);
+        try {
+            while (!cancelled) {
+                T first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (inputClosed && queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                if (batchSize > 1) {
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                busyWorkers.incrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Pipeline stage {} failed on a batch of {}: {}", name, batch.size(),
+                            e.getMessage(), e);
+                } finally {
+                    busyNanos.addAndGet(System.nanoTime() - start);
+                    busyWorkers.decrementAndGet();
+                }
+                processed.addAndGet(batch.size());
+
+                if (next != null) {
+                    for (T item : batch) {
+                        next.put(item);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finished.countDown();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.Job;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Revisits already stored reviews based on how often their content actually
+ * changed. Each review carries an adaptive revisit interval: it halves when a
+ * check finds new content and grows when the page was unchanged, bounded by the
+ * configured min/max. Every tick loads the reviews that are due, ranks them by
+ * the estimated probability that they changed since the last check, and spends
+ * the limited request budget on the most likely ones first.
+ */
+@Service
+@Lazy(false) // @Scheduled methods are only registered for eagerly created beans
+public class RecrawlScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(RecrawlScheduler.class);
+
+    // Load a few more due candidates than we can fetch so the ranking matters
+    private static final int CANDIDATE_FACTOR = 4;
+    private static final double GROWTH_FACTOR = 1.5;
+
+    private final CochraneReviewRepository reviewRepository;
+    private final CrawlerService crawlerService;
+    private final CrawlerConfig crawlerConfig;
+    private final JobService jobService;
+
+    @Autowired
+    public RecrawlScheduler(
+            CochraneReviewRepository reviewRepository,
+            CrawlerService crawlerService,
+            CrawlerConfig crawlerConfig,
+            JobService jobService) {
+        this.reviewRepository = reviewRepository;
+        this.crawlerService = crawlerService;
+        this.crawlerConfig = crawlerConfig;
+        this.jobService = jobService;
+    }
+
+    /**
+     * Scheduled recrawl tick (crawler.recrawl-cron). Skips while a full topic
+     * crawl is running so both don't compete for the same politeness budget;
+     * otherwise hands the tick to the maintenance executor.
+     */
+    @Scheduled(cron = "${crawler.recrawl-cron}")
+    public void scheduleRecrawl() {
+        if (!crawlerConfig.isAutoSchedule()) {
+            return;
+        }
+        if (crawlerService.isCrawling()) {
+            logger.debug("Full crawl in progress, skipping recrawl tick");
+            return;
+        }
+        jobService.submit(Job.Type.RECRAWL, "recrawl tick", this::recrawlDueReviews);
+    }
+
+    /**
+     * One recrawl tick: fetches the due reviews most likely to have changed,
+     * up to crawler.recrawl-budget, and returns how many changed.
+     */
+    public int recrawlDueReviews() {
+
+        LocalDateTime now = LocalDateTime.now();
+        int budget = crawlerConfig.getRecrawlBudget();
+        List<CochraneReview> due = reviewRepository.findDueForRecrawl(now,
+                PageRequest.of(0, budget * CANDIDATE_FACTOR));
+        if (due.isEmpty()) {
+            logger.debug("No reviews due for recrawl");
+            return 0;
+        }
+
+        PriorityQueue<CochraneReview> queue = new PriorityQueue<>(
+                Comparator.comparingDouble((CochraneReview r) -> changeProbability(r, now)).reversed());
+        queue.addAll(due);
+
+        int fetched = 0;
+        int changed = 0;
+        while (fetched < budget && !queue.isEmpty()) {
+            if (crawlerService.isCrawling()) {
+                logger.info("Full crawl started, ending recrawl tick early");
+                break;
+            }
+            CochraneReview review = queue.poll();
+            fetched++;
+            try {
+                boolean contentChanged = crawlerService.refreshReview(review);
+                recordCheck(review, contentChanged, LocalDateTime.now());
+                if (contentChanged) {
+                    changed++;
+                }
+            } catch (FetchException e) {
+                if (e.isCircuitOpen()) {
+                    // origin is down; the review stays due for the next tick
+                    logger.info("Origin unavailable, ending recrawl tick early");
+                    break;
+                }
+                // Not a change signal; retry after the current interval, or after
+                // the longest one for a page that is gone
+                logger.warn("Recrawl of {} failed: {}", review.getUrl(), e.getMessage());
+                long minutes = e.isPermanent()
+                        ? Duration.ofHours(crawlerConfig.getRecrawlMaxIntervalHours()).toMinutes()
+                        : currentIntervalMinutes(review);
+                review.setNextCrawlAt(LocalDateTime.now().plusMinutes(minutes));
+            } catch (IOException e) {
+                logger.warn("Recrawl of {} failed: {}", review.getUrl(), e.getMessage());
+                review.setNextCrawlAt(LocalDateTime.now().plusMinutes(currentIntervalMinutes(review)));
+            } catch (RuntimeException e) {
+                // e.g. the extractor or a constraint violation; left due, the review would
+                // top the next tick again and fail it before anything ranked below it
+                logger.error("Recrawl of {} failed: {}", review.getUrl(), e.getMessage(), e);
+                // drop whatever the refresh copied before it failed
+                review = reviewRepository.findById(review.getId()).orElse(review);
+                review.setNextCrawlAt(LocalDateTime.now().plusMinutes(currentIntervalMinutes(review)));
+            }
+            // PageFetcher spaces the requests out, no extra delay needed here
+            reviewRepository.save(review);
+        }
+
+        logger.info("Recrawl tick finished: {} due, {} fetched, {} changed", due.size(), fetched, changed);
+        return changed;
+    }
+
+    /**
+     * Updates the check counters and derives the next due time from the adapted
+     * revisit interval.
+     */
+    void recordCheck(CochraneReview review, boolean changed, LocalDateTime checkedAt) {
+        long interval = nextIntervalMinutes(currentIntervalMinutes(review), changed);
+        review.setCheckCount(review.getCheckCount() + 1);
+        if (changed) {
+            review.setChangeCount(review.getChangeCount() + 1);
+        }
+        review.setLastCheckedAt(checkedAt);
+        review.setRevisitIntervalMinutes(interval);
+        review.setNextCrawlAt(checkedAt.plusMinutes(interval));
+    }
+
+    /**
+     * Halve the interval after a change, grow it after an unchanged check, and
+     * keep it within the configured bounds.
+     */
+    long nextIntervalMinutes(long currentMinutes, boolean changed) {
+        long min = Duration.ofHours(crawlerConfig.getRecrawlMinIntervalHours()).toMinutes();
+        long max = Duration.ofHours(crawlerConfig.getRecrawlMaxIntervalHours()).toMinutes();
+        long next = changed ? currentMinutes / 2 : (long) (currentMinutes * GROWTH_FACTOR);
+        return Math.max(min, Math.min(max, next));
+    }
+
+    /**
+     * Estimated probability that the review changed since it was last checked,
+     * modelling changes as a Poisson process. The per-interval change rate uses
+     * Laplace smoothing so never-checked reviews start at 0.5.
+     */
+    double changeProbability(CochraneReview review, LocalDateTime now) {
+        if (review.getLastCheckedAt() == null) {
+            return 1.0;
+        }
+        double changeRate = (review.getChangeCount() + 1.0) / (review.getCheckCount() + 2.0);
+        double elapsedMinutes = Math.max(0, Duration.between(review.getLastCheckedAt(), now).toMinutes());
+        double intervals = elapsedMinutes / currentIntervalMinutes(review);
+        return 1.0 - Math.exp(-changeRate * intervals);
+    }
+
+    private long currentIntervalMinutes(CochraneReview review) {
+        if (review.getRevisitIntervalMinutes() > 0) {
+            return review.getRevisitIntervalMinutes();
+        }
+        return Duration.ofHours(crawlerConfig.getRecrawlInitialIntervalHours()).toMinutes();
+    }
+}
@@ -0,0 +1,226 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.Author;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.ReviewSection;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a parsed review detail page into a CochraneReview with structured
+ * fields: author list (unsaved Authors, resolved by FacetService on store),
+ * DOI, publication/updated dates, abstract, plain language summary and the
+ * headed sections, plus the content fingerprints. The citation_* meta tags are
+ * preferred where present since they are stable across page redesigns; the
+ * visible markup is the fallback. Stateless, so the pipeline can call it from
+ * any number of parse workers.
+ */
+@Component
+public class ReviewExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewExtractor.class);
+
+    // "2 September 2022" on the page, "2022/09/02" in the citation meta tags
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd", Locale.ENGLISH),
+            DateTimeFormatter.ISO_LOCAL_DATE);
+
+    private static final Pattern AUTHOR_SEPARATOR = Pattern.compile("\\s*(?:[,;]|\\band\\b)\\s*");
+
+    private static final int MAX_AUTHOR_LENGTH = 200;
+
+    public CochraneReview extract(Document doc, String url, String topicName) {
+        try {
+            // The detail page has a <h1 class="publication-title"> for the main review title
+            Element titleElement = doc.selectFirst("h1.publication-title");
+            if (titleElement == null) {
+                logger.warn("No <h1.publication-title> found for review: {}", url);
+                return null;
+            }
+            String title = titleElement.text().trim();
+
+            List<String> authorList = extractAuthors(doc);
+            String authors = authorList.isEmpty()
+                    ? "(authors not found in detail)"
+                    : String.join(", ", authorList);
+
+            // The main text is in <div class="article-section__text">, older pages
+            // use .article-section__content
+            Element contentEl = doc.selectFirst("div.article-section__text");
+            if (contentEl == null) {
+                contentEl = doc.selectFirst("div.article-section__content");
+            }
+            String contentHtml = contentEl != null ? contentEl.html() : "";
+
+            CochraneReview review = new CochraneReview();
+            review.setUrl(url);
+            review.setTopic(topicName);
+            review.setTitle(title);
+            review.setAuthors(authors);
+            review.setAuthorList(authorList.stream()
+                    .map(Author::new)
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            review.setDoi(extractDoi(doc, url));
+            review.setPublicationDate(extractDate(doc,
+                    "meta[name=citation_publication_date]", "span.publish-date"));
+            review.setUpdatedDate(extractDate(doc,
+                    "meta[name=citation_online_date]", "span.last-updated-date"));
+            review.setAbstractText(textOf(doc.selectFirst("section.abstract, div.full_abstract")));
+            review.setPlainLanguageSummary(textOf(doc.selectFirst("section.pls, div.abstract_plainLanguageSummary")));
+            review.setSections(extractSections(doc));
+            // An empty body still counts as COMPLETED, we only fail on a missing title
+            review.setContent(contentHtml);
+            fingerprint(review, contentEl != null ? contentEl.text() : "");
+
+            return review;
+
+        } catch (Exception e) {
+            logger.error("Error extracting detail data from {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One entry per citation_author meta tag, else the names in the authors
+     * block: its list items/links when it has them, otherwise the text split on
+     * commas, semicolons and "and".
+     */
+    List<String> extractAuthors(Document doc) {
+        List<String> authors = new ArrayList<>();
+        for (Element meta : doc.select("meta[name=citation_author]")) {
+            addAuthor(authors, meta.attr("content"));
+        }
+        if (!authors.isEmpty()) {
+            return authors;
+        }
+
+        Element authorsEl = doc.selectFirst("div.article-authors__list");
+        if (authorsEl == null) {
+            return authors;
+        }
+        Elements names = authorsEl.select("li, a");
+        if (!names.isEmpty()) {
+            for (Element name : names) {
+                if (name.children().isEmpty() || name.tagName().equals("a")) {
+                    addAuthor(authors, name.text());
+                }
+            }
+        } else {
+            for (String name : AUTHOR_SEPARATOR.split(authorsEl.text())) {
+                addAuthor(authors, name);
+            }
+        }
+        return authors;
+    }
+
+    /**
+     * The bare DOI (10.1002/...) from the citation_doi meta tag, the DOI link in
+     * the header, or failing that the review URL itself.
+     */
+    String extractDoi(Document doc, String url) {
+        Element meta = doc.selectFirst("meta[name=citation_doi]");
+        String doi = meta != null ? ReviewUrls.doiKey(meta.attr("content")) : null;
+        if (doi == null) {
+            Element link = doc.selectFirst("div.doi-header a");
+            doi = link != null ? ReviewUrls.doiKey(link.text()) : null;
+        }
+        return doi != null ? doi : ReviewUrls.doiKey(url);
+    }
+
+    /**
+     * Splits the page into (heading, text) pairs: every h2/h3 inside a section
+     * together with the text of its following siblings up to the next heading.
+     */
+    List<ReviewSection> extractSections(Document doc) {
+        List<ReviewSection> sections = new ArrayList<>();
+        for (Element heading : doc.select("section h2, section h3")) {
+            StringBuilder text = new StringBuilder();
+            for (Element sibling = heading.nextElementSibling(); sibling != null
+                    && !sibling.is("h2, h3"); sibling = sibling.nextElementSibling()) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(sibling.text());
+            }
+            sections.add(new ReviewSection(heading.text().trim(), text.toString()));
+        }
+        return sections;
+    }
+
+    /**
+     * Exact hash over everything we extracted, SimHash over the review text
+     * only so metadata edits don't move it.
+     */
+    private void fingerprint(CochraneReview review, String bodyText) {
+        StringBuilder text = new StringBuilder();
+        text.append(review.getAbstractText()).append('\n')
+                .append(review.getPlainLanguageSummary()).append('\n');
+        for (ReviewSection section : review.getSections()) {
+            text.append(section.getHeading()).append('\n').append(section.getText()).append('\n');
+        }
+        text.append(bodyText);
+        String reviewText = text.toString();
+
+        review.setContentHash(ContentFingerprints.textHash(String.join("\n",
+                review.getTitle(), review.getAuthors(), String.valueOf(review.getDoi()),
+                String.valueOf(review.getPublicationDate()), String.valueOf(review.getUpdatedDate()),
+                reviewText)));
+        review.setSimHash(ContentFingerprints.simHash(reviewText));
+    }
+
+    /**
+     * Parses dates like "2 September 2022" or "2022/09/02". A leading label such
+     * as "Version published:" is ignored.
+     */
+    LocalDate parseDate(String dateText) {
+        if (dateText == null || dateText.trim().isEmpty()) {
+            return null;
+        }
+        String text = dateText.substring(dateText.indexOf(':') + 1).trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        logger.warn("Failed to parse date: {}", dateText);
+        return null;
+    }
+
+    private LocalDate extractDate(Document doc, String metaSelector, String textSelector) {
+        Element meta = doc.selectFirst(metaSelector);
+        if (meta != null) {
+            LocalDate date = parseDate(meta.attr("content"));
+            if (date != null) {
+                return date;
+            }
+        }
+        Element el = doc.selectFirst(textSelector);
+        return el != null ? parseDate(el.text()) : null;
+    }
+
+    private static void addAuthor(List<String> authors, String name) {
+        String trimmed = name.trim();
+        if (!trimmed.isEmpty()) {
+            authors.add(trimmed.length() > MAX_AUTHOR_LENGTH ? trimmed.substring(0, MAX_AUTHOR_LENGTH) : trimmed);
+        }
+    }
+
+    private static String textOf(Element el) {
+        return el != null ? el.text().trim() : null;
+    }
+}
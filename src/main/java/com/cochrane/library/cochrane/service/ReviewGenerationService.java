@@ -0,0 +1,66 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Full refreshes crawl into a shadow generation of cochrane_reviews (rows with
+ * is_shadow = true) that readers never see. When the crawl completes the live
+ * generation is purged and the shadow promoted in a single transaction, so the
+ * API keeps serving the old corpus until the new one is complete. Live rows
+ * the refresh found unchanged are flagged carried_over instead of being
+ * copied into the shadow generation, and are kept by the swap.
+ */
+@Service
+public class ReviewGenerationService {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewGenerationService.class);
+
+    private final CochraneReviewRepository reviewRepository;
+
+    @Autowired
+    public ReviewGenerationService(CochraneReviewRepository reviewRepository) {
+        this.reviewRepository = reviewRepository;
+    }
+
+    /**
+     * Replaces the live corpus with the shadow generation.
+     */
+    @Transactional
+    public void promoteShadow() {
+        deleteCollections(false);
+        int purged = reviewRepository.deleteLiveGeneration();
+        int promoted = reviewRepository.promoteShadowGeneration();
+        int kept = reviewRepository.clearCarriedOver();
+        reviewRepository.clearDanglingDuplicateLinks();
+        logger.info("Swapped in refreshed corpus: {} reviews promoted, {} unchanged kept, {} purged",
+                promoted, kept, purged);
+    }
+
+    /**
+     * Drops a partially crawled shadow generation, e.g. after a stopped refresh.
+     */
+    @Transactional
+    public int discardShadow() {
+        deleteCollections(true);
+        int discarded = reviewRepository.deleteShadowGeneration();
+        reviewRepository.clearCarriedOver();
+        if (discarded > 0) {
+            logger.info("Discarded {} reviews of an incomplete refresh", discarded);
+        }
+        return discarded;
+    }
+
+    /**
+     * Rows in the per-review collection tables would block the native delete of
+     * their generation, so they go first.
+     */
+    private void deleteCollections(boolean shadow) {
+        reviewRepository.deleteAuthorsOfGeneration(shadow);
+        reviewRepository.deleteSectionsOfGeneration(shadow);
+        reviewRepository.deleteTopicLinksOfGeneration(shadow);
+    }
+}
@@ -0,0 +1,166 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.FacetKeys;
+import com.cochrane.library.cochrane.model.ReviewSummary;
+import com.cochrane.library.cochrane.model.Topic;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import com.cochrane.library.cochrane.repository.TopicRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The review queries behind the read API, shared by the blocking endpoints
+ * and their async variants. Everything runs read-only, on the read pool.
+ *
+ * The stats and topic lists every dashboard asks for when it opens are
+ * single-flight: concurrent requests share one query, and its result is
+ * reused for crawler.stats-coalesce-fresh-millis (then optionally served
+ * stale for crawler.stats-coalesce-stale-millis while it is refreshed).
+ */
+@Service
+public class ReviewQueryService {
+
+    private final CochraneReviewRepository reviewRepository;
+    private final TopicRepository topicRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String, Object> coalesced;
+
+    @Autowired
+    public ReviewQueryService(CochraneReviewRepository reviewRepository, TopicRepository topicRepository,
+            CrawlerConfig crawlerConfig, PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.reviewRepository = reviewRepository;
+        this.topicRepository = topicRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.coalesced = new SingleFlight<>(crawlerConfig.getStatsCoalesceFreshMillis(),
+                crawlerConfig.getStatsCoalesceStaleMillis(), System::nanoTime);
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry.getIfAvailable() : null;
+        if (registry != null) {
+            FunctionCounter.builder("review.queries.coalesced", coalesced, SingleFlight::loads)
+                    .tag("outcome", "queried")
+                    .description("Stats and topic queries run against the database")
+                    .register(registry);
+            FunctionCounter.builder("review.queries.coalesced", coalesced, SingleFlight::shared)
+                    .tag("outcome", "shared")
+                    .description("Stats and topic calls answered by another call's query")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * A page of reviews filtered by the first filter given, in the order
+     * topic, author, publication date range, search term.
+     */
+    public Page<CochraneReview> findReviews(String topic, String searchTerm, String author, LocalDate publishedFrom,
+            LocalDate publishedTo, Pageable pageable) {
+        if (topic != null && !topic.isEmpty()) {
+            return reviewRepository.findByTopicKey(FacetKeys.fold(topic), pageable);
+        } else if (author != null && !author.isEmpty()) {
+            return reviewRepository.findByAuthorKey(FacetKeys.fold(author), pageable);
+        } else if (publishedFrom != null || publishedTo != null) {
+            return reviewRepository.findByPublicationDateBetween(
+                    publishedFrom != null ? publishedFrom : LocalDate.of(1, 1, 1),
+                    publishedTo != null ? publishedTo : LocalDate.of(9999, 12, 31),
+                    pageable);
+        } else if (searchTerm != null && !searchTerm.isEmpty()) {
+            return reviewRepository.findByTitleContainingIgnoreCaseOrAuthorsContainingIgnoreCase(
+                    searchTerm, searchTerm, pageable);
+        }
+        return reviewRepository.findAll(pageable);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> topicNames() {
+        return (List<String>) coalesced.get("topicNames", () -> topicRepository.findAllByOrderByNameAsc().stream()
+                .map(Topic::getName)
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    /**
+     * Review totals by crawl status and per topic.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> stats() {
+        return (Map<String, Object>) coalesced.get("stats", () -> readOnlyTransaction.execute(status -> loadStats()));
+    }
+
+    /**
+     * Review total and the distinct topics reviews were found under, for the
+     * crawler dashboard.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> crawlerStats() {
+        return (Map<String, Object>) coalesced.get("crawlerStats", () -> readOnlyTransaction.execute(status -> {
+            Map<String, Object> stats = new HashMap<>();
+            List<String> topics = reviewRepository.findDistinctTopics();
+            stats.put("totalReviews", reviewRepository.count());
+            stats.put("uniqueTopics", topics.size());
+            stats.put("topics", topics);
+            return Collections.unmodifiableMap(stats);
+        }));
+    }
+
+    private Map<String, Object> loadStats() {
+        Map<String, Object> stats = new HashMap<>();
+
+        // Get total reviews
+        long totalReviews = reviewRepository.count();
+        stats.put("totalReviews", totalReviews);
+
+        // Get counts by status
+        long failedContent = reviewRepository.countByCrawlStatus(CochraneReview.CrawlStatus.FAILED);
+        long pendingContent = reviewRepository.countByCrawlStatus(CochraneReview.CrawlStatus.PENDING);
+        stats.put("failedContent", failedContent);
+        stats.put("pendingContent", pendingContent);
+
+        // Get reviews by topic, from the precomputed facet counts
+        Map<String, Long> reviewsByTopic = topicRepository.findByReviewCountGreaterThanOrderByNameAsc(0).stream()
+                .collect(Collectors.toMap(Topic::getName, Topic::getReviewCount));
+        stats.put("reviewsByTopic", reviewsByTopic);
+
+        // shared between callers, so nobody may change it
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Passes the summary of every review, or of the topic's reviews, to the
+     * sink as rows arrive, without holding the result in memory. The read
+     * transaction stays open until the sink has taken the last one.
+     *
+     * @return number of summaries passed on
+     */
+    @Transactional(readOnly = true)
+    public long streamSummaries(String topic, Consumer<ReviewSummary> sink) {
+        try (Stream<ReviewSummary> summaries = topic != null && !topic.isEmpty()
+                ? reviewRepository.streamSummariesByTopicKey(FacetKeys.fold(topic))
+                : reviewRepository.streamSummaries()) {
+            long[] count = new long[1];
+            summaries.forEach(summary -> {
+                sink.accept(summary);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+}
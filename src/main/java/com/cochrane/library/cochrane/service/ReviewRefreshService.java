@@ -0,0 +1,135 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes single stored reviews on demand, outside the crawl and recrawl
+ * jobs. Refreshes run on their own small pool (crawler.priority-fetch-workers)
+ * and fetch through PageFetcher's priority lane, so a caller waits for
+ * roughly one page fetch even while a crawl keeps every politeness slot busy.
+ * Requests still go through the shared politeness delay, robots.txt rules and
+ * circuit breaker.
+ *
+ * Concurrent refreshes of the same review share one fetch. A successful
+ * refresh counts as a recrawl check (see RecrawlScheduler#recordCheck).
+ */
+@Service
+public class ReviewRefreshService {
+    private static final Logger logger = LoggerFactory.getLogger(ReviewRefreshService.class);
+
+    private final CochraneReviewRepository reviewRepository;
+    private final CrawlerService crawlerService;
+    private final RecrawlScheduler recrawlScheduler;
+    private final ThreadPoolExecutor executor;
+    // review id -> its refresh in progress
+    private final ConcurrentMap<Long, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReviewRefreshService(CochraneReviewRepository reviewRepository, CrawlerService crawlerService,
+            RecrawlScheduler recrawlScheduler, CrawlerConfig crawlerConfig) {
+        this.reviewRepository = reviewRepository;
+        this.crawlerService = crawlerService;
+        this.recrawlScheduler = recrawlScheduler;
+        int workers = Math.max(1, crawlerConfig.getPriorityFetchWorkers());
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, crawlerConfig.getPriorityFetchQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "priority-fetch-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The id of the stored review with the DOI, given directly or as part of
+     * the URL, else of the review stored under the URL.
+     */
+    public Optional<Long> findReviewId(String url, String doi) {
+        String doiKey = ReviewUrls.doiKey(doi != null ? doi : url);
+        Optional<Long> id = doiKey != null ? reviewRepository.findIdByDoi(doiKey) : Optional.empty();
+        String canonicalUrl = ReviewUrls.canonicalUrl(ReviewUrls.origin(url), url);
+        if (id.isEmpty() && canonicalUrl != null) {
+            id = reviewRepository.findIdByUrl(canonicalUrl);
+        }
+        return id;
+    }
+
+    /**
+     * Starts refreshing the review, or joins the refresh of it already in
+     * progress. The result is true when the content changed; it fails with
+     * the FetchException or IOException of the fetch.
+     *
+     * @throws RejectedExecutionException when crawler.priority-fetch-queue-capacity
+     *                                    refreshes are already waiting
+     */
+    public CompletableFuture<Boolean> refresh(Long reviewId) {
+        CompletableFuture<Boolean> refresh = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inFlight.putIfAbsent(reviewId, refresh);
+        if (running != null) {
+            logger.debug("Joining the refresh of review {} in progress", reviewId);
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    boolean changed = refreshNow(reviewId);
+                    inFlight.remove(reviewId, refresh);
+                    refresh.complete(changed);
+                } catch (IOException | RuntimeException e) {
+                    inFlight.remove(reviewId, refresh);
+                    refresh.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(reviewId, refresh);
+            logger.info("Rejected refresh of review {}: priority fetch queue is full", reviewId);
+            throw e;
+        }
+        return refresh;
+    }
+
+    /**
+     * Whether a refresh failed because the origin's circuit is open, rather
+     * than on the page itself.
+     */
+    public static boolean isOriginUnavailable(Throwable failure) {
+        return failure instanceof FetchException fetchFailure && fetchFailure.isCircuitOpen();
+    }
+
+    private boolean refreshNow(Long reviewId) throws IOException {
+        CochraneReview review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalStateException("Review " + reviewId + " no longer exists"));
+        long start = System.nanoTime();
+        boolean changed = crawlerService.refreshReview(review, true);
+        recrawlScheduler.recordCheck(review, changed, LocalDateTime.now());
+        reviewRepository.save(review);
+        logger.info("Refreshed review {} on demand in {}ms: {}", review.getUrl(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), changed ? "changed" : "unchanged");
+        return changed;
+    }
+}
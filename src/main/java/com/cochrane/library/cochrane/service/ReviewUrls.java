@@ -0,0 +1,115 @@
+package com.cochrane.library.cochrane.service;
+
+/**
+ * Canonical review URLs and the DOI keys reviews are deduplicated by.
+ *
+ * Listings link the same review with different paths (/full, /abstract),
+ * query strings and fragments. The DOI identifies the review, and
+ * origin + /cdsr/doi/{doi}/full is the one URL it is fetched from and stored
+ * under. This runs for every link on every listing page, so hrefs are parsed
+ * with a single scan instead of going through java.net.URL.
+ */
+final class ReviewUrls {
+
+    private static final String DOI_PATH = "/cdsr/doi/";
+    private static final String DETAIL_SUFFIX = "/full";
+
+    private ReviewUrls() {
+    }
+
+    /**
+     * scheme://host[:port] of a page URL, the base for its root-relative links.
+     */
+    static String origin(String pageUrl) {
+        if (pageUrl == null) {
+            return "";
+        }
+        int scheme = pageUrl.indexOf("://");
+        if (scheme < 0) {
+            return "";
+        }
+        int path = pageUrl.indexOf('/', scheme + 3);
+        return path < 0 ? pageUrl : pageUrl.substring(0, path);
+    }
+
+    /**
+     * The canonical URL of a review link found on a page with the given
+     * origin, or null for a relative href this can't resolve on its own.
+     * Links carrying a DOI map to the review's full-text URL, anything else
+     * just loses its query string and fragment.
+     */
+    static String canonicalUrl(String origin, String href) {
+        if (href == null || href.isEmpty()) {
+            return null;
+        }
+        String doi = doiKey(href);
+        if (doi != null) {
+            return origin + DOI_PATH + doi + DETAIL_SUFFIX;
+        }
+
+        String absolute;
+        if (href.startsWith("https://") || href.startsWith("http://")) {
+            absolute = href;
+        } else if (href.startsWith("//")) {
+            absolute = origin.substring(0, Math.max(0, origin.indexOf(':') + 1)) + href;
+        } else if (href.startsWith("/")) {
+            absolute = origin + href;
+        } else {
+            return null;
+        }
+        int end = absolute.length();
+        for (int i = 0; i < end; i++) {
+            char c = absolute.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+            }
+        }
+        return end == absolute.length() ? absolute : absolute.substring(0, end);
+    }
+
+    /**
+     * The key a review URL is deduplicated by: its DOI, else the URL itself.
+     */
+    static String key(String url) {
+        String doi = doiKey(url);
+        return doi != null ? doi : url;
+    }
+
+    /**
+     * The first DOI (10.NNNN/suffix) in the text, the same match as
+     * 10\.\d{4,9}/[^/?#\s]+ without the regex machinery.
+     */
+    static String doiKey(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (int start = text.indexOf("10."); start >= 0; start = text.indexOf("10.", start + 1)) {
+            int end = doiEnd(text, start);
+            if (end > 0) {
+                return text.substring(start, end);
+            }
+        }
+        return null;
+    }
+
+    private static int doiEnd(String text, int start) {
+        int i = start + 3;
+        int digits = 0;
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+            digits++;
+        }
+        if (digits < 4 || digits > 9 || i >= text.length() || text.charAt(i) != '/') {
+            return -1;
+        }
+        int suffix = ++i;
+        while (i < text.length() && !endsDoi(text.charAt(i))) {
+            i++;
+        }
+        return i > suffix ? i : -1;
+    }
+
+    private static boolean endsDoi(char c) {
+        return c == '/' || c == '?' || c == '#' || Character.isWhitespace(c);
+    }
+}
@@ -0,0 +1,172 @@
+package com.cochrane.library.cochrane.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The parts of a robots.txt that apply to this crawler (RFC 9309): the
+ * allow/disallow rules of the group naming our agent token, else of the *
+ * group, its Crawl-delay, and the Sitemap lines of the whole file.
+ *
+ * The longest matching rule decides, an allow wins a tie. Rules may use * for
+ * any run of characters and end with $ to anchor at the end of the path.
+ */
+final class RobotsRules {
+
+    static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), -1, List.of());
+
+    private final List<Rule> rules;
+    private final long crawlDelayMillis;
+    private final List<String> sitemaps;
+
+    private RobotsRules(List<Rule> rules, long crawlDelayMillis, List<String> sitemaps) {
+        this.rules = rules;
+        this.crawlDelayMillis = crawlDelayMillis;
+        this.sitemaps = sitemaps;
+    }
+
+    static RobotsRules parse(String robotsTxt, String agentToken) {
+        String agent = agentToken.toLowerCase(Locale.ROOT);
+        List<Rule> ownRules = new ArrayList<>();
+        List<Rule> anyRules = new ArrayList<>();
+        long ownDelay = -1;
+        long anyDelay = -1;
+        boolean ownGroupFound = false;
+        List<String> sitemaps = new ArrayList<>();
+
+        // the group being read applies to us (own) and/or to everyone (any)
+        boolean inOwn = false;
+        boolean inAny = false;
+        boolean readingAgents = false;
+        for (String rawLine : robotsTxt.split("\r\n|\r|\n")) {
+            int comment = rawLine.indexOf('#');
+            String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).trim();
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String field = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            switch (field) {
+                case "user-agent" -> {
+                    if (!readingAgents) {
+                        inOwn = false;
+                        inAny = false;
+                        readingAgents = true;
+                    }
+                    String token = value.toLowerCase(Locale.ROOT);
+                    if (token.equals("*")) {
+                        inAny = true;
+                    } else if (token.equals(agent)) {
+                        inOwn = true;
+                        ownGroupFound = true;
+                    }
+                }
+                case "allow", "disallow" -> {
+                    readingAgents = false;
+                    // an empty Disallow allows everything and adds no rule
+                    if (!value.isEmpty()) {
+                        Rule rule = new Rule(value, field.equals("allow"));
+                        if (inOwn) {
+                            ownRules.add(rule);
+                        }
+                        if (inAny) {
+                            anyRules.add(rule);
+                        }
+                    }
+                }
+                case "crawl-delay" -> {
+                    readingAgents = false;
+                    long delay = parseDelayMillis(value);
+                    if (inOwn) {
+                        ownDelay = delay;
+                    }
+                    if (inAny) {
+                        anyDelay = delay;
+                    }
+                }
+                case "sitemap" -> {
+                    if (!value.isEmpty()) {
+                        sitemaps.add(value);
+                    }
+                }
+                default -> readingAgents = false;
+            }
+        }
+        return ownGroupFound
+                ? new RobotsRules(ownRules, ownDelay, List.copyOf(sitemaps))
+                : new RobotsRules(anyRules, anyDelay, List.copyOf(sitemaps));
+    }
+
+    private static long parseDelayMillis(String value) {
+        try {
+            double seconds = Double.parseDouble(value);
+            return seconds >= 0 ? Math.round(seconds * 1000) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Whether the path (with its query string) may be fetched.
+     */
+    boolean isAllowed(String pathAndQuery) {
+        if (pathAndQuery.equals("/robots.txt")) {
+            return true;
+        }
+        Rule best = null;
+        for (Rule rule : rules) {
+            if (rule.matches(pathAndQuery) && (best == null || rule.length() > best.length()
+                    || (rule.length() == best.length() && rule.allow))) {
+                best = rule;
+            }
+        }
+        return best == null || best.allow;
+    }
+
+    /**
+     * Crawl-delay in milliseconds, -1 when the file doesn't set one.
+     */
+    long crawlDelayMillis() {
+        return crawlDelayMillis;
+    }
+
+    List<String> sitemaps() {
+        return sitemaps;
+    }
+
+    private record Rule(String pattern, boolean allow) {
+
+        int length() {
+            return pattern.length();
+        }
+
+        boolean matches(String path) {
+            boolean anchored = pattern.endsWith("$");
+            String body = anchored ? pattern.substring(0, pattern.length() - 1) : pattern;
+            return matches(body, 0, path, 0, anchored);
+        }
+
+        private static boolean matches(String pattern, int p, String path, int s, boolean anchored) {
+            while (p < pattern.length()) {
+                char c = pattern.charAt(p);
+                if (c == '*') {
+                    // try every possible length for the wildcard
+                    for (int from = s; from <= path.length(); from++) {
+                        if (matches(pattern, p + 1, path, from, anchored)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                if (s >= path.length() || path.charAt(s) != c) {
+                    return false;
+                }
+                p++;
+                s++;
+            }
+            return !anchored || s == path.length();
+        }
+    }
+}
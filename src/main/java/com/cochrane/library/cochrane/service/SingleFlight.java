@@ -0,0 +1,128 @@
+package com.cochrane.library.cochrane.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: while a load for a key runs, other
+ * callers for that key wait for its result instead of starting their own.
+ *
+ * A result is reused for freshMillis after it completed. For staleMillis
+ * after that, the first caller reloads it while everyone else is answered
+ * with the previous result (stale-while-revalidate). Failures are passed to
+ * every waiting caller and never reused.
+ */
+final class SingleFlight<K, V> {
+
+    private final long freshNanos;
+    private final long staleNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    SingleFlight(long freshMillis, long staleMillis, LongSupplier nanoClock) {
+        this.freshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, freshMillis));
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, staleMillis));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * The last loaded value while it is fresh, or stale and another caller is
+     * reloading it; else the result of the load in flight; else loads it on
+     * the calling thread.
+     */
+    V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.compute(key, (k, current) -> next(current));
+        Load<V> load = entry.inFlight();
+        if (load != null && load.owner == Thread.currentThread()) {
+            return run(key, load, loader);
+        }
+        shared.incrementAndGet();
+        if (entry.loaded() != null) {
+            return entry.loaded().value();
+        }
+        try {
+            return load.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Decides under the map's lock whether the caller can use the current
+     * value, has to wait, or becomes the one who loads.
+     */
+    private Entry<V> next(Entry<V> current) {
+        if (current == null) {
+            return new Entry<>(null, new Load<>());
+        }
+        if (current.inFlight() != null) {
+            return current;
+        }
+        long age = nanoClock.getAsLong() - current.loaded().completedAt();
+        if (age < freshNanos) {
+            return current;
+        }
+        if (age < freshNanos + staleNanos) {
+            return new Entry<>(current.loaded(), new Load<>());
+        }
+        return new Entry<>(null, new Load<>());
+    }
+
+    private V run(K key, Load<V> load, Supplier<V> loader) {
+        loads.incrementAndGet();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            // keep a stale value for the next caller to retry
+            entries.computeIfPresent(key, (k, current) -> current.inFlight() != load ? current
+                    : current.loaded() != null ? new Entry<>(current.loaded(), null) : null);
+            load.result.completeExceptionally(e);
+            throw e;
+        }
+        Loaded<V> loaded = new Loaded<>(value, nanoClock.getAsLong());
+        entries.computeIfPresent(key, (k, current) -> current.inFlight() == load ? new Entry<>(loaded, null)
+                : current);
+        load.result.complete(value);
+        return value;
+    }
+
+    /**
+     * Loads actually run.
+     */
+    long loads() {
+        return loads.get();
+    }
+
+    /**
+     * Calls answered with another caller's load or a reused value.
+     */
+    long shared() {
+        return shared.get();
+    }
+
+    private record Loaded<V>(V value, long completedAt) {
+    }
+
+    private record Entry<V>(Loaded<V> loaded, Load<V> inFlight) {
+    }
+
+    private static final class Load<V> {
+        final Thread owner = Thread.currentThread();
+        final CompletableFuture<V> result = new CompletableFuture<>();
+    }
+}
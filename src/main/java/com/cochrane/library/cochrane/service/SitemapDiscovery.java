@@ -0,0 +1,175 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.SitemapListing;
+import com.cochrane.library.cochrane.repository.SitemapListingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds review URLs through the origin's XML sitemaps instead of its listing
+ * pages: the sitemaps robots.txt names plus crawler.sitemap-urls, following
+ * sitemap indexes. A sitemap whose lastmod in its index hasn't moved since it
+ * was last read is skipped, so an unchanged site costs one request per index.
+ */
+@Service
+public class SitemapDiscovery {
+    private static final Logger logger = LoggerFactory.getLogger(SitemapDiscovery.class);
+
+    // entries handed to the caller at a time, so it can look them up in batches
+    private static final int CHUNK_SIZE = 500;
+
+    private final PageFetcher pageFetcher;
+    private final SitemapListingRepository sitemapListingRepository;
+    private final CrawlerConfig crawlerConfig;
+
+    @Autowired
+    public SitemapDiscovery(PageFetcher pageFetcher, SitemapListingRepository sitemapListingRepository,
+            CrawlerConfig crawlerConfig) {
+        this.pageFetcher = pageFetcher;
+        this.sitemapListingRepository = sitemapListingRepository;
+        this.crawlerConfig = crawlerConfig;
+    }
+
+    /**
+     * Outcome of one discovery run.
+     */
+    public static class Result {
+        private int sitemapsFetched;
+        private int sitemapsSkipped;
+        private int entries;
+        private int reviewsQueued;
+        private final List<String> errors = new ArrayList<>();
+
+        public int getSitemapsFetched() {
+            return sitemapsFetched;
+        }
+
+        public int getSitemapsSkipped() {
+            return sitemapsSkipped;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public int getReviewsQueued() {
+            return reviewsQueued;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    private record Pending(String url, LocalDateTime lastModified) {
+    }
+
+    /**
+     * Streams the URL entries of the sitemaps reachable from the base URL's
+     * origin to the handler, in chunks. The handler returns how many of them it
+     * queued.
+     *
+     * @param readAll   read every sitemap, even those the index reports unchanged
+     * @param keepGoing checked between sitemaps, stops the run when false
+     */
+    Result discover(String baseUrl, boolean readAll, BooleanSupplier keepGoing,
+            ToIntFunction<List<SitemapReader.Entry>> handler) {
+        Result result = new Result();
+        Deque<Pending> queue = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        for (String url : pageFetcher.sitemaps(baseUrl)) {
+            queue.add(new Pending(url, null));
+        }
+        for (String url : crawlerConfig.getSitemapUrls()) {
+            queue.add(new Pending(url, null));
+        }
+
+        while (!queue.isEmpty() && keepGoing.getAsBoolean()) {
+            Pending sitemap = queue.poll();
+            if (!visited.add(sitemap.url())) {
+                continue;
+            }
+            SitemapListing listing = sitemapListingRepository.findBySitemapUrl(sitemap.url())
+                    .orElseGet(() -> new SitemapListing(sitemap.url()));
+            if (!readAll && sitemap.lastModified() != null && listing.getLastCheckedAt() != null
+                    && sitemap.lastModified().equals(listing.getLastModified())) {
+                logger.debug("Sitemap {} unchanged since {}, skipping", sitemap.url(), sitemap.lastModified());
+                result.sitemapsSkipped++;
+                continue;
+            }
+            if (result.sitemapsFetched >= crawlerConfig.getMaxSitemapsPerCrawl()) {
+                logger.info("Reached crawler.max-sitemaps-per-crawl ({}), {} sitemaps left for the next crawl",
+                        crawlerConfig.getMaxSitemapsPerCrawl(), queue.size() + 1);
+                break;
+            }
+
+            try {
+                read(sitemap, listing, queue, keepGoing, handler, result);
+            } catch (IOException e) {
+                String errorMsg = String.format("Failed to read sitemap %s: %s", sitemap.url(), e.getMessage());
+                logger.warn(errorMsg);
+                result.errors.add(errorMsg);
+            }
+        }
+        return result;
+    }
+
+    private void read(Pending sitemap, SitemapListing listing, Deque<Pending> queue, BooleanSupplier keepGoing,
+            ToIntFunction<List<SitemapReader.Entry>> handler, Result result) throws IOException {
+        PageFetcher.FetchedPage page = pageFetcher.fetchResource(sitemap.url());
+        result.sitemapsFetched++;
+
+        List<SitemapReader.Entry> chunk = new ArrayList<>(CHUNK_SIZE);
+        int[] counts = new int[2]; // entries, reviews queued
+        SitemapReader.Kind kind;
+        try (InputStream in = page.openStream()) {
+            kind = SitemapReader.read(in, url -> {
+                counts[0]++;
+                chunk.add(url);
+                if (chunk.size() == CHUNK_SIZE) {
+                    counts[1] += dispatch(chunk, handler);
+                }
+            }, child -> {
+                counts[0]++;
+                queue.add(new Pending(child.loc(), child.lastModified()));
+            });
+        }
+        counts[1] += dispatch(chunk, handler);
+
+        listing.setSitemapIndex(kind == SitemapReader.Kind.INDEX);
+        // a run stopped while reading may have dropped entries, read it again next time
+        listing.setLastModified(keepGoing.getAsBoolean() ? sitemap.lastModified() : null);
+        listing.setLastCheckedAt(LocalDateTime.now());
+        listing.setEntries(counts[0]);
+        listing.setReviewsQueued(counts[1]);
+        sitemapListingRepository.save(listing);
+        result.entries += counts[0];
+        result.reviewsQueued += counts[1];
+        logger.info("Read {} {}: {} entries, {} reviews queued", kind == SitemapReader.Kind.INDEX
+                ? "sitemap index" : "sitemap", sitemap.url(), counts[0], counts[1]);
+    }
+
+    private static int dispatch(List<SitemapReader.Entry> chunk, ToIntFunction<List<SitemapReader.Entry>> handler) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int queued = handler.applyAsInt(List.copyOf(chunk));
+        chunk.clear();
+        return queued;
+    }
+}
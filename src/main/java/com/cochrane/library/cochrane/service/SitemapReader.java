@@ -0,0 +1,136 @@
+package com.cochrane.library.cochrane.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams the entries of an XML sitemap or sitemap index (sitemaps.org
+ * protocol) to consumers with a StAX parser, so a sitemap of 50,000 URLs
+ * never becomes a DOM. Gzipped sitemaps are recognised by their magic bytes,
+ * whatever the URL or content type says.
+ */
+final class SitemapReader {
+
+    enum Kind {
+        URLSET,
+        INDEX
+    }
+
+    /**
+     * A &lt;url&gt; of a urlset or a &lt;sitemap&gt; of an index.
+     *
+     * @param lastModified the lastmod in local time, null when absent or invalid
+     */
+    record Entry(String loc, LocalDateTime lastModified) {
+    }
+
+    private static final XMLInputFactory XML = newFactory();
+
+    private SitemapReader() {
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // sitemaps come from the network, no DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Reads the document, passing each &lt;url&gt; to urls and each
+     * &lt;sitemap&gt; of an index to sitemaps.
+     */
+    static Kind read(InputStream in, Consumer<Entry> urls, Consumer<Entry> sitemaps) throws IOException {
+        InputStream body = new BufferedInputStream(in);
+        if (isGzip(body)) {
+            body = new GZIPInputStream(body);
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = XML.createXMLStreamReader(body);
+            Kind kind = null;
+            String loc = null;
+            String lastmod = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "urlset" -> kind = Kind.URLSET;
+                        case "sitemapindex" -> kind = Kind.INDEX;
+                        case "url", "sitemap" -> {
+                            loc = null;
+                            lastmod = null;
+                        }
+                        case "loc" -> loc = reader.getElementText().trim();
+                        case "lastmod" -> lastmod = reader.getElementText().trim();
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ((name.equals("url") || name.equals("sitemap")) && loc != null && !loc.isEmpty()) {
+                        (name.equals("url") ? urls : sitemaps).accept(new Entry(loc, parseLastmod(lastmod)));
+                    }
+                }
+            }
+            if (kind == null) {
+                throw new IOException("Not a sitemap: no <urlset> or <sitemapindex> root element");
+            }
+            return kind;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed sitemap: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == 0x1f && second == 0x8b;
+    }
+
+    /**
+     * W3C datetime as used by sitemaps: a date, or a date and time with an
+     * offset. Converted to local time to compare with the crawl timestamps.
+     */
+    static LocalDateTime parseLastmod(String lastmod) {
+        if (lastmod == null || lastmod.isEmpty()) {
+            return null;
+        }
+        try {
+            if (lastmod.length() == 10) {
+                return LocalDate.parse(lastmod).atStartOfDay();
+            }
+            return OffsetDateTime.parse(lastmod).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(lastmod);
+            } catch (DateTimeParseException notLocal) {
+                return null;
+            }
+        }
+    }
+}
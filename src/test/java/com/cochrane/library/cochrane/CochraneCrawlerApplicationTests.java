@@ -3,7 +3,7 @@ package com.cochrane.library.cochrane;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "crawler.snapshot-path=")
 class CochraneCrawlerApplicationTests {
 
 	@Test
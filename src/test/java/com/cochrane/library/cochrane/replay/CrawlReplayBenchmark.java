@@ -0,0 +1,105 @@
+package com.cochrane.library.cochrane.replay;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import com.cochrane.library.cochrane.service.CrawlerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Reproducible crawl load test against a synthetic corpus served by
+ * {@link ReplayOriginServer}. Excluded from the default build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=CrawlReplayBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "crawler.delay-between-requests=0",
+        "crawler.retry-delay=50",
+        "crawler.max-retries=5",
+        "crawler.request-timeout=5000",
+        "crawler.adaptive-timeout-min-millis=200",
+        "crawler.auto-schedule=false",
+        "crawler.seed-sample-data=false",
+        "crawler.cronSchedule=-",
+        "crawler.recrawl-cron=-",
+        "crawler.snapshot-path=",
+        "logging.level.com.cochrane.library.cochrane=WARN"
+})
+class CrawlReplayBenchmark {
+
+    private static final int TOPICS = 10;
+    private static final int REVIEWS_PER_TOPIC = 100;
+    private static final int PAGE_SIZE = 25;
+
+    @Autowired
+    private CrawlerService crawlerService;
+
+    @Autowired
+    private CrawlerConfig crawlerConfig;
+
+    @Autowired
+    private CochraneReviewRepository reviewRepository;
+
+    @Test
+    void cleanOrigin() throws Exception {
+        run("clean origin", new ReplayOriginServer());
+    }
+
+    @Test
+    void slowOrigin() throws Exception {
+        run("20ms +/- 30ms latency, 10% slow bodies", new ReplayOriginServer()
+                .withLatency(20, 30)
+                .withSlowBodies(0.1, 20));
+    }
+
+    @Test
+    void flakyOrigin() throws Exception {
+        run("5% 503, 5% 429", new ReplayOriginServer()
+                .withErrorRate(0.05)
+                .withThrottleRate(0.05));
+    }
+
+    @Test
+    void stalledOrigin() throws Exception {
+        try {
+            crawlerConfig.setAdaptiveTimeout(false);
+            run("2% of requests stall 4s, fixed timeout", new ReplayOriginServer()
+                    .withLatency(10, 20)
+                    .withStalls(0.02, 4000));
+            crawlerConfig.setAdaptiveTimeout(true);
+            crawlerConfig.setHedgeRequests(true);
+            run("2% of requests stall 4s, adaptive+hedged", new ReplayOriginServer()
+                    .withLatency(10, 20)
+                    .withStalls(0.02, 4000));
+        } finally {
+            crawlerConfig.setAdaptiveTimeout(true);
+            crawlerConfig.setHedgeRequests(false);
+        }
+    }
+
+    private void run(String scenario, ReplayOriginServer origin) throws Exception {
+        try (ReplayOriginServer server = origin.withSyntheticCorpus(TOPICS, REVIEWS_PER_TOPIC, PAGE_SIZE).start()) {
+            crawlerConfig.setBaseUrl(server.topicsUrl());
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+            long start = System.nanoTime();
+            crawlerService.crawlAllTopics(true);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+            long reviews = reviewRepository.count();
+            System.out.printf("%-40s reviews=%d time=%dms throughput=%.1f pages/s requests=%d "
+                            + "429s=%d 5xx=%d served=%dKB heapDelta=%dKB%n",
+                    scenario, reviews, elapsedMs, server.requests() * 1000.0 / Math.max(1, elapsedMs),
+                    server.requests(), server.throttled(), server.errors(), server.bytesServed() / 1024,
+                    (heapAfter - heapBefore) / 1024);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.cochrane.library.cochrane.replay;
+
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.model.CrawlerStatus;
+import com.cochrane.library.cochrane.model.DeadLetter;
+import com.cochrane.library.cochrane.model.FacetBrowseResult;
+import com.cochrane.library.cochrane.model.FacetValue;
+import com.cochrane.library.cochrane.model.ReviewSummary;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import com.cochrane.library.cochrane.repository.DeadLetterRepository;
+import com.cochrane.library.cochrane.service.CrawlerService;
+import com.cochrane.library.cochrane.service.DeadLetterService;
+import com.cochrane.library.cochrane.service.FacetService;
+import com.cochrane.library.cochrane.service.ReviewRefreshService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end crawl against the bundled replay snapshot, no network needed.
+ */
+@SpringBootTest(properties = {
+        "crawler.delay-between-requests=0",
+        "crawler.retry-delay=10",
+        "crawler.max-retries=3",
+        "crawler.request-timeout=5000",
+        "crawler.auto-schedule=false",
+        "crawler.seed-sample-data=false",
+        "crawler.cronSchedule=-",
+        "crawler.recrawl-cron=-",
+        "crawler.snapshot-path=",
+        "crawler.recent-reviews-window=5"
+})
+class CrawlReplayTest {
+
+    private static final ReplayOriginServer origin = start(new ReplayOriginServer());
+
+    @Autowired
+    private CrawlerService crawlerService;
+
+    @Autowired
+    private CochraneReviewRepository reviewRepository;
+
+    @Autowired
+    private FacetService facetService;
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    @Autowired
+    private DeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private ReviewRefreshService refreshService;
+
+    @DynamicPropertySource
+    static void originProperties(DynamicPropertyRegistry registry) {
+        registry.add("crawler.base-url", origin::topicsUrl);
+    }
+
+    @AfterAll
+    static void stopOrigin() {
+        origin.close();
+    }
+
+    @Test
+    void crawlAllTopics_ShouldStoreEachReviewOnceAndSkipUnchangedListings() {
+        // When
+        crawlerService.crawlAllTopics(false);
+
+        // Then: 4 distinct reviews across 2 topics, one of them listed twice
+        assertEquals(4, reviewRepository.count());
+        assertTrue(reviewRepository.findByUrl(
+                origin.topicsUrl().replace(ReplayOriginServer.TOPICS_PATH,
+                        "/cdsr/doi/10.1002/14651858.CD012345.pub2/full"))
+                .isPresent(), "review on the second listing page should be crawled");
+
+        // When: nothing changed at the origin
+        long requestsBefore = origin.requests();
+        crawlerService.crawlAllTopics(false);
+
+        // Then: topics page plus the first page of each topic listing
+        assertEquals(3, origin.requests() - requestsBefore);
+        assertEquals(4, reviewRepository.count());
+    }
+
+    @Test
+    void fullRefresh_ShouldCarryOverUnchangedReviewsWithoutRewriting() {
+        // Given
+        crawlerService.crawlAllTopics(false);
+        Long storedId = reviewRepository.findAll().get(0).getId();
+
+        // When: the origin serves the same pages again
+        crawlerService.crawlAllTopics(true);
+
+        // Then: every review was found unchanged and kept its live row
+        assertEquals(4, reviewRepository.count());
+        assertEquals(4, crawlerService.getStatus().getUnchangedReviews());
+        assertTrue(reviewRepository.findById(storedId).isPresent());
+    }
+
+    @Test
+    void fullRefresh_ShouldFetchEachReviewOnceAndLinkEveryListingTopic() {
+        // Given
+        crawlerService.crawlAllTopics(false);
+        long requestsBefore = origin.requests();
+
+        // When
+        crawlerService.crawlAllTopics(true);
+
+        // Then: topics page, 3 listing pages and one detail fetch per DOI, although
+        // CD001101 is listed under both topics
+        assertEquals(8, origin.requests() - requestsBefore);
+        FacetBrowseResult mentalHealth = facetService.browse("Mental health", null, null, PageRequest.of(0, 10));
+        assertEquals(2, mentalHealth.getReviews().getTotalElements());
+        assertTrue(mentalHealth.getReviews().getContent().stream()
+                .anyMatch(r -> r.getTitle().equals("Oral immunotherapy for peanut allergy")));
+    }
+
+    @Test
+    void browse_ShouldFilterAndCountFacetsAfterCrawl() {
+        // Given
+        crawlerService.crawlAllTopics(false);
+
+        // When: topic keys are case-folded
+        FacetBrowseResult byTopic = facetService.browse("ALLERGY &  Intolerance", null, null, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(3, byTopic.getReviews().getTotalElements());
+        assertEquals(List.of("2022", "2021", "2020"),
+                byTopic.getYears().stream().map(FacetValue::getKey).toList());
+        assertEquals(2, byTopic.getTopics().size(), "topic facet ignores its own filter");
+
+        // When
+        FacetBrowseResult byAuthorAndYear = facetService.browse(null, 2022, "nurmatov u", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, byAuthorAndYear.getReviews().getTotalElements());
+        assertEquals("Oral immunotherapy for peanut allergy",
+                byAuthorAndYear.getReviews().getContent().get(0).getTitle());
+    }
+
+    @Test
+    void status_ShouldKeepOnlyNewestSummariesAndPageTheRestFromTheDatabase() {
+        // Given
+        LocalDateTime since = LocalDateTime.now();
+        for (int i = 0; i < 8; i++) {
+            CochraneReview review = new CochraneReview("https://example.org/added-" + i + "-" + System.nanoTime(),
+                    "Status", "Added " + i, "Author A", LocalDate.of(2024, 1, 1));
+            review.setFirstCrawledAt(LocalDateTime.now());
+            crawlerService.addNewReview(reviewRepository.save(review));
+        }
+
+        // When
+        CrawlerStatus status = crawlerService.getStatus();
+        Page<ReviewSummary> page = crawlerService.getNewReviews(since, PageRequest.of(0, 3));
+
+        // Then: the status holds the window, the database has all of them
+        assertEquals(5, status.getNewReviews().size());
+        assertEquals("Added 7", status.getNewReviews().get(4).getTitle());
+        assertEquals(8, page.getTotalElements());
+        assertEquals("Added 7", page.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void redrive_ShouldMarkMissingPagePermanentWithoutRetrying() throws InterruptedException {
+        // Given: a URL that timed out earlier and is gone from the origin now
+        String missing = origin.topicsUrl().replace(ReplayOriginServer.TOPICS_PATH,
+                "/cdsr/doi/10.1002/14651858.CD999999/full");
+        deadLetterService.record(missing, "Allergy & intolerance", false, 0, "SocketTimeoutException: Read timed out");
+        long notFoundBefore = origin.notFound();
+
+        // When
+        crawlerService.redriveFailed();
+
+        // Then: the 404 is not retried, and the history keeps both failures
+        assertEquals(1, origin.notFound() - notFoundBefore);
+        DeadLetter letter = deadLetterRepository.findByUrl(missing).orElseThrow();
+        assertTrue(letter.isPermanent());
+        assertEquals(404, letter.getLastStatusCode());
+        assertEquals(2, letter.getFailureCount());
+        assertEquals(2, letter.getFailureHistory().split("\n").length);
+        assertFalse(deadLetterService.redriveCandidates().stream().anyMatch(d -> d.getUrl().equals(missing)));
+    }
+
+    @Test
+    void refresh_ShouldRefetchOnlyTheRequestedReview() throws Exception {
+        // Given
+        crawlerService.crawlAllTopics(false);
+        String doi = "10.1002/14651858.CD012345.pub2";
+        CochraneReview before = reviewRepository.findByDoi(doi).orElseThrow();
+        long requestsBefore = origin.requests();
+
+        // When: looked up by an /abstract link of the same review
+        Long id = refreshService.findReviewId(origin.topicsUrl().replace(ReplayOriginServer.TOPICS_PATH,
+                "/cdsr/doi/" + doi + "/abstract?cookieSet=1"), null).orElseThrow();
+        CompletableFuture<Boolean> refresh = refreshService.refresh(id);
+        boolean changed = refresh.get(10, TimeUnit.SECONDS);
+
+        // Then: one detail fetch, recorded as an unchanged recrawl check
+        assertEquals(before.getId(), id);
+        assertFalse(changed);
+        assertEquals(1, origin.requests() - requestsBefore);
+        CochraneReview after = reviewRepository.findById(id).orElseThrow();
+        assertEquals(before.getCheckCount() + 1, after.getCheckCount());
+        assertEquals(before.getContentHash(), after.getContentHash());
+        assertTrue(refreshService.findReviewId(null, "10.1002/14651858.CD999999").isEmpty());
+    }
+
+    private static ReplayOriginServer start(ReplayOriginServer server) {
+        try {
+            return server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.cochrane.library.cochrane.replay;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.service.CrawlerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local load test of the read API: many concurrent dashboard clients against
+ * the blocking /api/reviews endpoints and their /api/async/reviews variants,
+ * on a deliberately small Tomcat thread pool. While the load runs, a probe
+ * polls /api/crawler/status, which needs no database, to show whether the
+ * readers starve other requests of servlet threads. Excluded from the default
+ * build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=ReadApiLoadBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "crawler.delay-between-requests=0",
+        "crawler.auto-schedule=false",
+        "crawler.seed-sample-data=false",
+        "crawler.cronSchedule=-",
+        "crawler.recrawl-cron=-",
+        "crawler.snapshot-path=",
+        "crawler.async-read-api=true",
+        "crawler.async-read-threads=4",
+        "spring.datasource.read.maximum-pool-size=4",
+        "server.tomcat.threads.max=8",
+        "logging.level.com.cochrane.library.cochrane=WARN"
+})
+class ReadApiLoadBenchmark {
+
+    private static final int TOPICS = 10;
+    private static final int REVIEWS_PER_TOPIC = 200;
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS = 4000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CrawlerService crawlerService;
+
+    @Autowired
+    private CrawlerConfig crawlerConfig;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    void blockingVersusAsync() throws Exception {
+        try (ReplayOriginServer origin = new ReplayOriginServer()
+                .withSyntheticCorpus(TOPICS, REVIEWS_PER_TOPIC, 25).start()) {
+            crawlerConfig.setBaseUrl(origin.topicsUrl());
+            crawlerService.crawlAllTopics(true);
+        }
+
+        // warm up both paths before measuring
+        run("warm-up", "/api/reviews", REQUESTS / 4);
+        run("warm-up", "/api/async/reviews", REQUESTS / 4);
+
+        run("blocking", "/api/reviews", REQUESTS);
+        run("async", "/api/async/reviews", REQUESTS);
+    }
+
+    private void run(String scenario, String base, int requests) throws Exception {
+        String[] paths = {
+                base + "/stats",
+                base + "/topics",
+                base + "?page=3&size=25",
+                base + "?searchTerm=Synthetic&size=25"
+        };
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        AtomicBoolean loadRunning = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Long> probeLatencies = new ConcurrentLinkedQueue<>();
+        Thread probe = new Thread(() -> {
+            while (loadRunning.get()) {
+                long start = System.nanoTime();
+                try {
+                    client.send(request("/api/crawler/status"), HttpResponse.BodyHandlers.discarding());
+                    probeLatencies.add(System.nanoTime() - start);
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            }
+        }, "status-probe");
+
+        long start = System.nanoTime();
+        probe.start();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            pending.add(client.sendAsync(request(paths[i % paths.length]), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (error != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies.add(System.nanoTime() - sent);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        loadRunning.set(false);
+        probe.join();
+
+        System.out.printf("%-10s %-20s clients=%d requests=%d errors=%d throughput=%.0f req/s "
+                        + "p50=%dms p99=%dms statusProbe p50=%dms p99=%dms%n",
+                scenario, base, CLIENTS, requests, errors.get(), requests * 1000.0 / elapsedMs,
+                percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                percentileMs(new ArrayList<>(probeLatencies), 0.50),
+                percentileMs(new ArrayList<>(probeLatencies), 0.99));
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private static long percentileMs(List<Long> nanos, double percentile) {
+        if (nanos.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted;
+        synchronized (nanos) {
+            sorted = new ArrayList<>(nanos);
+        }
+        Collections.sort(sorted);
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000;
+    }
+}
@@ -0,0 +1,306 @@
+package com.cochrane.library.cochrane.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for cochranelibrary.com that serves a recorded snapshot of
+ * topic and review pages, so crawls can run without network access.
+ *
+ * The snapshot is an index.properties mapping request paths to HTML files. By
+ * default the bundled classpath snapshot (replay/snapshot) is used; point the
+ * replay.snapshot.dir system property at a directory to replay a larger
+ * recording. {@link #withSyntheticCorpus} generates an arbitrarily large
+ * corpus from the snapshot's first review page for load tests.
+ *
+ * Latency, 5xx errors, 429 throttling and slow (trickled) bodies can be
+ * injected; a fixed seed keeps runs reproducible.
+ */
+public class ReplayOriginServer implements AutoCloseable {
+
+    public static final String TOPICS_PATH = "/cdsr/reviews/topics";
+    public static final String ROBOTS_PATH = "/robots.txt";
+
+    private static final String SNAPSHOT_RESOURCE = "replay/snapshot/";
+
+    private final Map<String, byte[]> pages = new HashMap<>();
+    private Random random = new Random(42);
+
+    private long latencyMs;
+    private long latencyJitterMs;
+    private double errorRate;
+    private double throttleRate;
+    private double slowBodyRate;
+    private long slowBodyChunkDelayMs = 50;
+    private double stallRate;
+    private long stallMs;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ReplayOriginServer() {
+        String dir = System.getProperty("replay.snapshot.dir");
+        if (dir != null && !dir.isBlank()) {
+            loadDirectory(Path.of(dir));
+        } else {
+            loadClasspath();
+        }
+    }
+
+    public ReplayOriginServer withLatency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = jitterMs;
+        return this;
+    }
+
+    public ReplayOriginServer withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public ReplayOriginServer withThrottleRate(double throttleRate) {
+        this.throttleRate = throttleRate;
+        return this;
+    }
+
+    public ReplayOriginServer withSlowBodies(double slowBodyRate, long chunkDelayMs) {
+        this.slowBodyRate = slowBodyRate;
+        this.slowBodyChunkDelayMs = chunkDelayMs;
+        return this;
+    }
+
+    /**
+     * A share of requests hangs for {@code stallMs} before being answered, like
+     * a connection stuck on a slow origin node.
+     */
+    public ReplayOriginServer withStalls(double stallRate, long stallMs) {
+        this.stallRate = stallRate;
+        this.stallMs = stallMs;
+        return this;
+    }
+
+    public ReplayOriginServer withSeed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * Replaces the topic pages with {@code topics} generated topics of
+     * {@code reviewsPerTopic} reviews each, paginated by {@code pageSize}. Review
+     * pages reuse the first recorded review page as a template.
+     */
+    public ReplayOriginServer withSyntheticCorpus(int topics, int reviewsPerTopic, int pageSize) {
+        String template = pages.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("/cdsr/doi/"))
+                .map(e -> new String(e.getValue(), StandardCharsets.UTF_8))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Snapshot has no review page to use as template"));
+
+        byte[] robots = pages.get(ROBOTS_PATH);
+        pages.clear();
+        if (robots != null) {
+            pages.put(ROBOTS_PATH, robots);
+        }
+        StringBuilder topicList = new StringBuilder("<html><body><ul class=\"browse-by-list\">");
+        int reviewNo = 0;
+        for (int t = 0; t < topics; t++) {
+            String topicPath = TOPICS_PATH + "/synthetic-" + t;
+            topicList.append("<li class=\"browse-by-list-item\"><a href=\"").append(topicPath)
+                    .append("\"><button>Synthetic topic ").append(t).append("</button></a></li>");
+
+            int pageCount = (reviewsPerTopic + pageSize - 1) / pageSize;
+            for (int p = 0; p < pageCount; p++) {
+                StringBuilder listing = new StringBuilder("<html><body>");
+                for (int r = p * pageSize; r < Math.min(reviewsPerTopic, (p + 1) * pageSize); r++) {
+                    String cd = String.format("CD%06d", reviewNo++);
+                    String reviewPath = "/cdsr/doi/10.1002/14651858." + cd + ".pub2/full";
+                    listing.append("<div class=\"search-results-item\"><a href=\"").append(reviewPath)
+                            .append("\">Synthetic review ").append(cd).append("</a></div>");
+                    pages.put(reviewPath, template.replaceAll("CD\\d{6}", cd)
+                            .replaceFirst("(<h1 class=\"publication-title\">)[^<]*", "$1Synthetic review " + cd)
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                if (p + 1 < pageCount) {
+                    listing.append("<ul class=\"pagination\"><li class=\"pagination-next\"><a href=\"")
+                            .append(topicPath).append("/page-").append(p + 2).append("\">Next</a></li></ul>");
+                }
+                listing.append("</body></html>");
+                String listingPath = p == 0 ? topicPath : topicPath + "/page-" + (p + 1);
+                pages.put(listingPath, listing.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        topicList.append("</ul></body></html>");
+        pages.put(TOPICS_PATH, topicList.toString().getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    public ReplayOriginServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * The "Browse by Topic" URL to use as crawler.base-url.
+     */
+    public String topicsUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + TOPICS_PATH;
+    }
+
+    public int pageCount() {
+        return pages.size();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long throttled() {
+        return throttled.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public long notFound() {
+        return notFound.get();
+    }
+
+    public long bytesServed() {
+        return bytesServed.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            sleep(latencyMs + (latencyJitterMs > 0 ? nextLong(latencyJitterMs) : 0));
+            if (chance(stallRate)) {
+                sleep(stallMs);
+            }
+
+            if (chance(throttleRate)) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            if (chance(errorRate)) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = pages.get(path);
+            if (body == null) {
+                notFound.incrementAndGet();
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type",
+                    path.equals(ROBOTS_PATH) ? "text/plain; charset=utf-8" : "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream out = exchange.getResponseBody();
+            if (chance(slowBodyRate)) {
+                // Trickle the body in small chunks
+                int chunk = Math.max(1, body.length / 8);
+                for (int offset = 0; offset < body.length; offset += chunk) {
+                    out.write(body, offset, Math.min(chunk, body.length - offset));
+                    out.flush();
+                    sleep(slowBodyChunkDelayMs);
+                }
+            } else {
+                out.write(body);
+            }
+            bytesServed.addAndGet(body.length);
+        }
+    }
+
+    private synchronized boolean chance(double rate) {
+        return rate > 0 && random.nextDouble() < rate;
+    }
+
+    private synchronized long nextLong(long bound) {
+        return (long) (random.nextDouble() * bound);
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loadClasspath() {
+        Properties index = new Properties();
+        ClassLoader loader = ReplayOriginServer.class.getClassLoader();
+        try (InputStream in = loader.getResourceAsStream(SNAPSHOT_RESOURCE + "index.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("Snapshot index not found: " + SNAPSHOT_RESOURCE);
+            }
+            index.load(in);
+            for (String path : index.stringPropertyNames()) {
+                try (InputStream page = loader.getResourceAsStream(SNAPSHOT_RESOURCE + index.getProperty(path))) {
+                    if (page == null) {
+                        throw new IllegalStateException("Snapshot file missing for " + path);
+                    }
+                    pages.put(path, page.readAllBytes());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadDirectory(Path dir) {
+        Properties index = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve("index.properties"))) {
+            index.load(in);
+            for (String path : index.stringPropertyNames()) {
+                pages.put(path, Files.readAllBytes(dir.resolve(index.getProperty(path))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutsTest {
+
+    private static final String HOST = "www.cochranelibrary.com";
+
+    private final CrawlerConfig config = new CrawlerConfig();
+    private AdaptiveTimeouts timeouts;
+
+    @BeforeEach
+    void setUp() {
+        config.setRequestTimeout(30_000);
+        config.setAdaptiveTimeoutFactor(3.0);
+        config.setAdaptiveTimeoutMinMillis(200);
+        config.setLatencyMinSamples(20);
+        timeouts = new AdaptiveTimeouts(config);
+    }
+
+    @Test
+    void timeoutMillis_WithTooFewSamples_ShouldUseFixedTimeout() {
+        // Given
+        record(19, 100);
+
+        // When / Then
+        assertEquals(30_000, timeouts.timeoutMillis(HOST, 1));
+        assertEquals(-1, timeouts.hedgeDelayMillis(HOST));
+    }
+
+    @Test
+    void timeoutMillis_ShouldFollowP99AndDoublePerAttemptUpToTheCeiling() {
+        // Given: 100 downloads of 100 ms
+        record(100, 100);
+
+        // When
+        int first = timeouts.timeoutMillis(HOST, 1);
+
+        // Then: p99 x 3, within the histogram's bucket precision
+        assertEquals(300, first, 300 * 0.125);
+        assertEquals(2 * first, timeouts.timeoutMillis(HOST, 2));
+        assertEquals(30_000, timeouts.timeoutMillis(HOST, 20));
+        assertEquals(30_000, timeouts.timeoutMillis("other.example.org", 1));
+    }
+
+    @Test
+    void hedgeDelayMillis_WhenEnabled_ShouldBeP95() {
+        // Given: 95 fast downloads and 5 slow ones
+        record(95, 50);
+        record(5, 2_000);
+
+        // When / Then
+        assertEquals(-1, timeouts.hedgeDelayMillis(HOST));
+        config.setHedgeRequests(true);
+        assertEquals(50, timeouts.hedgeDelayMillis(HOST), 50 * 0.125);
+    }
+
+    @Test
+    void timeoutMillis_WhenDisabled_ShouldUseFixedTimeout() {
+        // Given
+        record(100, 100);
+        config.setAdaptiveTimeout(false);
+
+        // When / Then
+        assertEquals(30_000, timeouts.timeoutMillis(HOST, 1));
+    }
+
+    private void record(int count, long millis) {
+        for (int i = 0; i < count; i++) {
+            timeouts.record(HOST, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.ApiPerformanceReport;
+import com.cochrane.library.cochrane.model.EndpointPerformance;
+import com.cochrane.library.cochrane.model.SlowRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiPerformanceMonitorTest {
+
+    private final ApiPerformanceMonitor monitor = new ApiPerformanceMonitor();
+
+    @Test
+    void report_ShouldAggregatePerEndpointSlowestFirst() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            monitor.record("GET /api/reviews", "/api/reviews", "page=" + i, 200, false, 2_000_000, 1000);
+        }
+        monitor.record("GET /api/reviews/browse", "/api/reviews/browse", "topic=x", 500, false, 80_000_000, 200);
+
+        // When
+        ApiPerformanceReport report = monitor.report();
+
+        // Then
+        List<EndpointPerformance> endpoints = report.getEndpoints();
+        assertEquals("GET /api/reviews/browse", endpoints.get(0).getEndpoint());
+        assertEquals(1, endpoints.get(0).getErrors());
+        EndpointPerformance reviews = endpoints.get(1);
+        assertEquals(100, reviews.getCount());
+        assertEquals(2.0, reviews.getP99Ms(), 0.25);
+        assertEquals(1000, reviews.getMeanResponseBytes());
+    }
+
+    @Test
+    void record_ShouldKeepOnlyTheSlowestRequests() {
+        // Given: 50 requests of 1..50 ms
+        for (int ms = 1; ms <= 50; ms++) {
+            monitor.record("GET /api/reviews", "/api/reviews", "searchTerm=" + ms, 200, false,
+                    ms * 1_000_000L, 10);
+        }
+
+        // When
+        List<SlowRequest> slowest = monitor.report().getSlowestRequests();
+
+        // Then
+        assertEquals(20, slowest.size());
+        assertEquals(50.0, slowest.get(0).getDurationMs(), 0.001);
+        assertEquals("searchTerm=50", slowest.get(0).getQuery());
+        assertEquals(31.0, slowest.get(19).getDurationMs(), 0.001);
+    }
+
+    @Test
+    void reset_ShouldStartAnEmptyWindow() {
+        // Given
+        monitor.record("GET /api/reviews", "/api/reviews", null, 200, false, 1_000_000, 10);
+
+        // When
+        monitor.reset();
+
+        // Then
+        assertTrue(monitor.report().getEndpoints().isEmpty());
+        assertTrue(monitor.report().getSlowestRequests().isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedBodyTest {
+
+    @Test
+    void read_WhenBodyExceedsCap_ShouldStopAtCapAndMarkTruncated() throws IOException {
+        // Given
+        byte[] page = repeat('a', 10_000);
+
+        // When
+        BoundedBody body = BoundedBody.read(new ByteArrayInputStream(page), 4096, -1, List.of());
+
+        // Then
+        assertTrue(body.isTruncated());
+        assertEquals(4096, body.length());
+        assertEquals(4096, body.bytes().length);
+    }
+
+    @Test
+    void read_WhenBodyFillsCapExactly_ShouldNotBeTruncated() throws IOException {
+        // Given
+        byte[] page = repeat('a', 4096);
+
+        // When
+        BoundedBody body = BoundedBody.read(new ByteArrayInputStream(page), 4096, -1, List.of());
+
+        // Then
+        assertFalse(body.isTruncated());
+        assertEquals(4096, body.length());
+    }
+
+    @Test
+    void read_WithContentLength_ShouldAllocateBufferOnce() throws IOException {
+        // Given
+        byte[] page = repeat('a', 300_000);
+
+        // When
+        BoundedBody body = BoundedBody.read(new ByteArrayInputStream(page), 1_000_000, page.length, List.of());
+
+        // Then
+        assertFalse(body.isTruncated());
+        assertEquals(page.length, body.length());
+        assertEquals(page.length, body.bytes().length);
+        assertArrayEquals(page, body.bytes());
+    }
+
+    @Test
+    void read_WhenMarkerSpansTwoReads_ShouldCutBeforeMarker() throws IOException {
+        // Given: a stream handing out 7 bytes per read, so the marker is split
+        String html = "<main>abstract</main><section class=\"references\">long list</section>";
+        InputStream in = new ChunkedStream(html.getBytes(StandardCharsets.UTF_8), 7);
+
+        // When
+        BoundedBody body = BoundedBody.read(in, 1024, -1,
+                List.of("<section class=\"references\"".getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertTrue(body.isStoppedAtMarker());
+        assertFalse(body.isTruncated());
+        assertEquals("<main>abstract</main>",
+                new String(body.bytes(), 0, body.length(), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] repeat(char c, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) c);
+        return bytes;
+    }
+
+    private static final class ChunkedStream extends InputStream {
+        private final byte[] data;
+        private final int chunk;
+        private int position;
+
+        ChunkedStream(byte[] data, int chunk) {
+            this.data = data;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= data.length) {
+                return -1;
+            }
+            int n = Math.min(Math.min(length, chunk), data.length - position);
+            System.arraycopy(data, position, buffer, offset, n);
+            position += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentFingerprintsTest {
+
+    @Test
+    void textHash_ShouldIgnoreCaseAndWhitespace() {
+        assertEquals(ContentFingerprints.textHash("Main  results\nWe included trials."),
+                ContentFingerprints.textHash("main results we included TRIALS."));
+        assertNotEquals(ContentFingerprints.textHash("We included trials."),
+                ContentFingerprints.textHash("We excluded trials."));
+    }
+
+    @Test
+    void simHash_ShouldKeepNearDuplicatesClose() {
+        String review = reviewText("peanut", 300);
+        long original = ContentFingerprints.simHash(review);
+        long revised = ContentFingerprints.simHash(review.replace("trial 42 enrolled", "trial 42 recruited"));
+        long unrelated = ContentFingerprints.simHash(reviewText("anxiety", 300));
+
+        assertTrue(ContentFingerprints.hammingDistance(original, revised) <= 3,
+                "an edited phrase in a review-length text should move only a few bits");
+        assertTrue(ContentFingerprints.hammingDistance(original, unrelated) > 16,
+                "unrelated texts should be far apart");
+    }
+
+    @Test
+    void doiStem_ShouldDropVersionSuffix() {
+        assertEquals("10.1002/14651858.CD012345", ContentFingerprints.doiStem("10.1002/14651858.CD012345.pub2"));
+        assertEquals("10.1002/14651858.CD012345", ContentFingerprints.doiStem("10.1002/14651858.CD012345"));
+        assertNull(ContentFingerprints.doiStem(null));
+    }
+
+    // Review-sized text: SimHash needs a few hundred words to be stable
+    private static String reviewText(String subject, int trials) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < trials; i++) {
+            text.append("The ").append(subject).append(" trial ").append(i).append(" enrolled ")
+                    .append(40 + i * 7 % 300).append(" participants and reported outcome ")
+                    .append(i % 11).append(" at ").append(i % 5 + 1).append(" months. ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private Connection source;
+    private Connection target;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        source = DriverManager.getConnection("jdbc:h2:mem:snapshot-source");
+        target = DriverManager.getConnection("jdbc:h2:mem:snapshot-target");
+        createSchema(source, "content CLOB");
+        createSchema(target, "abstract_text CLOB");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    void load_AfterWrite_ShouldRestoreLiveCorpusWithIds() throws IOException, SQLException {
+        // Given
+        execute(source, "INSERT INTO authors (id, name) VALUES (7, 'Smith J')");
+        execute(source, "INSERT INTO topics (id, name) VALUES (3, 'Cancer')");
+        execute(source, "INSERT INTO cochrane_reviews (id, url, title, publication_date, last_checked_at, "
+                + "is_shadow, sim_hash, content) VALUES "
+                + "(10, 'https://example.org/a', 'Zinc für Erkältungen', DATE '2023-03-15', "
+                + "TIMESTAMP '2024-05-01 12:30:45.123456', false, -42, 'Full text'), "
+                + "(11, 'https://example.org/b', NULL, NULL, NULL, false, NULL, NULL), "
+                + "(12, 'https://example.org/a', 'Next generation', NULL, NULL, true, NULL, 'Shadow')");
+        execute(source, "INSERT INTO review_authors (review_id, author_id) VALUES (10, 7), (12, 7)");
+        execute(source, "INSERT INTO review_topics (review_id, topic_id) VALUES (10, 3), (12, 3)");
+        execute(source, "INSERT INTO review_sections (review_id, heading) VALUES (10, 'Background'), (12, 'Methods')");
+        Path file = dir.resolve("corpus.snapshot");
+
+        // When
+        Map<String, Long> written = CorpusSnapshot.write(source, file);
+        Map<String, Long> loaded = CorpusSnapshot.load(file, target);
+
+        // Then
+        assertEquals(2L, (long) written.get("cochrane_reviews"));
+        assertEquals(1L, (long) written.get("review_sections"));
+        assertEquals(written, loaded);
+        assertFalse(Files.exists(dir.resolve("corpus.snapshot.tmp")));
+        try (Statement statement = target.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT title, publication_date, last_checked_at, sim_hash "
+                        + "FROM cochrane_reviews WHERE id = 10")) {
+            assertTrue(rs.next());
+            assertEquals("Zinc für Erkältungen", rs.getString(1));
+            assertEquals(LocalDate.of(2023, 3, 15), rs.getObject(2, LocalDate.class));
+            assertEquals(LocalDateTime.of(2024, 5, 1, 12, 30, 45, 123456000), rs.getObject(3, LocalDateTime.class));
+            assertEquals(-42L, rs.getLong(4));
+        }
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM cochrane_reviews WHERE id = 12"));
+        assertEquals(1, count(target, "SELECT COUNT(*) FROM cochrane_reviews WHERE id = 11 AND title IS NULL"));
+        assertEquals(1, count(target, "SELECT COUNT(*) FROM review_authors WHERE review_id = 10 AND author_id = 7"));
+        execute(target, "INSERT INTO cochrane_reviews (url, is_shadow) VALUES ('https://example.org/c', false)");
+        assertEquals(12, count(target, "SELECT id FROM cochrane_reviews WHERE url = 'https://example.org/c'"));
+    }
+
+    @Test
+    void load_WithChangedColumns_ShouldSkipDroppedAndDefaultAdded() throws IOException, SQLException {
+        // Given: the source has "content", the target only "abstract_text"
+        execute(source, "INSERT INTO cochrane_reviews (id, url, is_shadow, content) "
+                + "VALUES (1, 'https://example.org/a', false, 'Full text')");
+        Path file = dir.resolve("corpus.snapshot");
+        CorpusSnapshot.write(source, file);
+
+        // When
+        CorpusSnapshot.load(file, target);
+
+        // Then
+        assertEquals(1, count(target, "SELECT COUNT(*) FROM cochrane_reviews "
+                + "WHERE url = 'https://example.org/a' AND abstract_text IS NULL"));
+    }
+
+    @Test
+    void load_WithForeignFile_ShouldFailWithoutInserting() throws IOException, SQLException {
+        // Given
+        Path file = dir.resolve("corpus.snapshot");
+        Files.writeString(file, "not a snapshot");
+
+        // When
+        IOException error = assertThrows(IOException.class, () -> CorpusSnapshot.load(file, target));
+
+        // Then
+        assertTrue(error.getMessage().contains("Not a corpus snapshot"));
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM cochrane_reviews"));
+    }
+
+    private static void createSchema(Connection connection, String textColumn) throws SQLException {
+        execute(connection, "DROP ALL OBJECTS");
+        execute(connection, "CREATE TABLE authors (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255))");
+        execute(connection, "CREATE TABLE topics (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255))");
+        execute(connection, "CREATE TABLE cochrane_reviews (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "url VARCHAR(500), title VARCHAR(255), publication_date DATE, last_checked_at TIMESTAMP(6), "
+                + "is_shadow BOOLEAN NOT NULL, sim_hash BIGINT, " + textColumn + ")");
+        execute(connection, "CREATE TABLE review_authors (review_id BIGINT NOT NULL, author_id BIGINT NOT NULL)");
+        execute(connection, "CREATE TABLE review_topics (review_id BIGINT NOT NULL, topic_id BIGINT NOT NULL)");
+        execute(connection, "CREATE TABLE review_sections (review_id BIGINT NOT NULL, heading VARCHAR(255))");
+        execute(connection, "CREATE TABLE topic_listings (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "topic VARCHAR(255), last_checked_at TIMESTAMP(6))");
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
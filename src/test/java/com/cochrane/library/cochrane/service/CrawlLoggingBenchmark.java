@@ -0,0 +1,118 @@
+package com.cochrane.library.cochrane.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What per-review logging costs the thread that logs: a synchronous appender
+ * against the async setup from logback-spring.xml (bounded queue,
+ * discardingThreshold, neverBlock), on a fast sink and on a sink that takes
+ * 50us per write like a busy disk. Excluded from the default build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=CrawlLoggingBenchmark
+ */
+@Tag("benchmark")
+class CrawlLoggingBenchmark {
+
+    private static final int EVENTS = 50_000;
+    private static final long SLOW_WRITE_NANOS = 50_000;
+
+    @Test
+    void perReviewLogging() {
+        run("sync, fast sink", false, 0);
+        run("async, fast sink", true, 0);
+        run("sync, 50us/write sink", false, SLOW_WRITE_NANOS);
+        run("async, 50us/write sink", true, SLOW_WRITE_NANOS);
+    }
+
+    private static void run(String name, boolean async, long writeNanos) {
+        LoggerContext context = new LoggerContext();
+        CountingStream sink = new CountingStream(writeNanos);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setName("sink");
+        output.setEncoder(encoder);
+        output.setOutputStream(sink);
+        output.setImmediateFlush(true);
+        output.start();
+
+        Appender<ILoggingEvent> appender = output;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("async");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(1024);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(output);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        Logger logger = context.getLogger(CrawlerService.class);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        long[] latencies = new long[EVENTS];
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            long t0 = System.nanoTime();
+            logger.info("Successfully processed review: {} ({})", "Review " + i,
+                    "https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD" + (100000 + i) + ".pub2/full");
+            latencies[i] = System.nanoTime() - t0;
+        }
+        long elapsed = System.nanoTime() - start;
+        context.stop();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-24s mean=%dns p99=%dns max=%dns written=%d/%d%n",
+                name, elapsed / EVENTS, latencies[EVENTS * 99 / 100], latencies[EVENTS - 1],
+                sink.writes.get(), EVENTS);
+    }
+
+    /**
+     * Discards the bytes, counts the flushed events and optionally spends the
+     * given time per flush.
+     */
+    private static final class CountingStream extends OutputStream {
+        private final long writeNanos;
+        private final AtomicLong writes = new AtomicLong();
+
+        CountingStream(long writeNanos) {
+            this.writeNanos = writeNanos;
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+            writes.incrementAndGet();
+            if (writeNanos > 0) {
+                LockSupport.parkNanos(writeNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlPipelineTest {
+
+    @Test
+    void cancel_WhileStoring_ShouldWaitForTheBatchInProgress() throws Exception {
+        // Given
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger stored = new AtomicInteger();
+        CrawlPipeline pipeline = new CrawlPipeline(new CrawlerConfig(), item -> { }, item -> { }, batch -> {
+            storing.countDown();
+            awaitUninterruptibly(release);
+            stored.addAndGet(batch.size());
+        });
+        pipeline.start();
+        pipeline.submit("https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD000001.pub2/full", "Heart");
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<Void> cancel = CompletableFuture.runAsync(pipeline::cancel);
+
+        // Then
+        assertThrows(TimeoutException.class, () -> cancel.get(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        cancel.get(5, TimeUnit.SECONDS);
+        assertEquals(1, stored.get());
+    }
+
+    @Test
+    void parse_WithSlowPage_ShouldStoreLaterPagesFirst() throws Exception {
+        // Given
+        String slow = "https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD000001.pub2/full";
+        String fast = "https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD000002.pub2/full";
+        CrawlerConfig config = new CrawlerConfig();
+        config.setParseWorkers(2);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<String> stored = new LinkedBlockingQueue<>();
+        CrawlPipeline pipeline = new CrawlPipeline(config, item -> { }, item -> {
+            if (item.getUrl().equals(slow)) {
+                awaitUninterruptibly(release);
+            }
+        }, batch -> batch.forEach(item -> stored.add(item.getUrl())));
+        pipeline.start();
+
+        try {
+            // When
+            pipeline.submit(slow, "Heart");
+            pipeline.submit(fast, "Heart");
+
+            // Then
+            assertEquals(fast, stored.poll(5, TimeUnit.SECONDS));
+            release.countDown();
+            pipeline.finish();
+            assertEquals(slow, stored.poll(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            pipeline.cancel();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.Author;
+import com.cochrane.library.cochrane.model.FacetKeys;
+import com.cochrane.library.cochrane.model.Topic;
+import com.cochrane.library.cochrane.repository.AuthorRepository;
+import com.cochrane.library.cochrane.repository.TopicRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FacetServiceTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        facetService = new FacetService(authorRepository, topicRepository, entityManager, transactionManager);
+    }
+
+    @Test
+    void fold_ShouldCaseFoldAndCollapseWhitespace() {
+        assertEquals("allergy & intolerance", FacetKeys.fold("  Allergy &\u00a0 INTOLERANCE "));
+        assertNull(FacetKeys.fold(null));
+    }
+
+    @Test
+    void resolveAuthors_ShouldReuseStoredAuthorsAndKeepPageOrder() {
+        // Given
+        Author stored = new Author("Dhami S");
+        stored.setId(7L);
+        when(authorRepository.findByNameKeyIn(any())).thenReturn(List.of(stored));
+
+        // When
+        List<Author> resolved = facetService.resolveAuthors(List.of(
+                new Author("Nurmatov U"), new Author("DHAMI S"), new Author("nurmatov  u")));
+
+        // Then: the duplicate is dropped, the known author reused, the new one saved
+        assertEquals(2, resolved.size());
+        assertEquals("Nurmatov U", resolved.get(0).getName());
+        assertSame(stored, resolved.get(1));
+        verify(authorRepository).saveAll(List.of(resolved.get(0)));
+    }
+
+    @Test
+    void resolveAuthors_WhenCreatedConcurrently_ShouldUseTheOtherTransactionsRow() {
+        // Given: the author is missing, then another transaction stores it first
+        Author winner = new Author("Nurmatov U");
+        winner.setId(9L);
+        when(authorRepository.findByNameKeyIn(any())).thenReturn(List.of(), List.of(winner));
+        when(authorRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("name_key"));
+
+        // When
+        List<Author> resolved = facetService.resolveAuthors(List.of(new Author("nurmatov u")));
+
+        // Then
+        assertEquals(List.of(winner), resolved);
+        verify(authorRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void resolveTopic_WhenCreatedConcurrently_ShouldUseTheOtherTransactionsRow() {
+        // Given
+        Topic winner = new Topic("Heart & circulation");
+        when(topicRepository.findByNameKey("heart & circulation")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(topicRepository.save(any())).thenThrow(new DataIntegrityViolationException("name_key"));
+
+        // When
+        Topic resolved = facetService.resolveTopic("Heart & Circulation");
+
+        // Then
+        assertSame(winner, resolved);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    @Test
+    void dump_ShouldContainCrawlStageEvents() throws Exception {
+        // Given
+        FlightRecordingService service = new FlightRecordingService(new CrawlerConfig());
+        assertTrue(service.isRecording());
+        Path file = null;
+        try {
+            CrawlFlightEvents.PageFetched fetched = new CrawlFlightEvents.PageFetched();
+            fetched.begin();
+            fetched.url = "https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD012345.pub2/full";
+            fetched.status = 200;
+            fetched.bytes = 48_213;
+            fetched.commit();
+            CrawlFlightEvents.StoreBatch batch = new CrawlFlightEvents.StoreBatch();
+            batch.begin();
+            batch.items = 25;
+            batch.written = 20;
+            batch.unchanged = 5;
+            batch.commit();
+
+            // When
+            file = service.dump();
+
+            // Then
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().startsWith(CrawlFlightEvents.PREFIX))
+                    .toList();
+            RecordedEvent page = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(CrawlFlightEvents.PREFIX + "PageFetched"))
+                    .findFirst().orElseThrow();
+            assertEquals(fetched.url, page.getString("url"));
+            assertEquals(200, page.getInt("status"));
+            assertEquals(48_213, page.getLong("bytes"));
+            assertNull(page.getStackTrace());
+            RecordedEvent stored = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(CrawlFlightEvents.PREFIX + "StoreBatch"))
+                    .findFirst().orElseThrow();
+            assertEquals(20, stored.getInt("written"));
+        } finally {
+            service.stop();
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void dump_WhenDisabled_ShouldNotRecord() {
+        // Given
+        CrawlerConfig config = new CrawlerConfig();
+        config.setFlightRecording(false);
+
+        // When
+        FlightRecordingService service = new FlightRecordingService(config);
+
+        // Then
+        assertFalse(service.isRecording());
+        assertThrows(IllegalStateException.class, service::dump);
+    }
+}
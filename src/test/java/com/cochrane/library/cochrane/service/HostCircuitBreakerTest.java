@@ -0,0 +1,90 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostCircuitBreakerTest {
+
+    private static final String HOST = "www.cochranelibrary.com";
+
+    private final AtomicLong now = new AtomicLong();
+    // window of 10, opens at 50% once 4 calls were made, probes after 30s
+    private final HostCircuitBreaker breaker = new HostCircuitBreaker(10, 4, 50, 30_000, now::get);
+
+    @Test
+    void acquire_WhenFailureRateReachesThreshold_ShouldFailFast() throws FetchException {
+        // Given
+        breaker.acquire(HOST);
+        breaker.onSuccess(HOST);
+        breaker.acquire(HOST);
+        breaker.onSuccess(HOST);
+        breaker.acquire(HOST);
+        breaker.onFailure(HOST);
+        assertEquals(HostCircuitBreaker.State.CLOSED, breaker.state(HOST));
+
+        // When
+        breaker.acquire(HOST);
+        breaker.onFailure(HOST);
+
+        // Then
+        assertTrue(breaker.isOpen(HOST));
+        FetchException e = assertThrows(FetchException.class, () -> breaker.acquire(HOST));
+        assertTrue(e.isCircuitOpen());
+        assertFalse(e.isPermanent());
+        assertFalse(breaker.isOpen("other.example.org"));
+    }
+
+    @Test
+    void acquire_AfterOpenPeriod_ShouldLetOneProbeThroughAndCloseOnSuccess() throws FetchException {
+        // Given
+        openCircuit();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        // When
+        breaker.acquire(HOST);
+
+        // Then: only one probe at a time
+        assertEquals(HostCircuitBreaker.State.HALF_OPEN, breaker.state(HOST));
+        assertThrows(FetchException.class, () -> breaker.acquire(HOST));
+
+        breaker.onSuccess(HOST);
+        assertEquals(HostCircuitBreaker.State.CLOSED, breaker.state(HOST));
+        breaker.acquire(HOST);
+    }
+
+    @Test
+    void onFailure_WhenProbeFails_ShouldReopen() throws FetchException {
+        // Given
+        openCircuit();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        breaker.acquire(HOST);
+
+        // When
+        breaker.onFailure(HOST);
+
+        // Then
+        assertTrue(breaker.isOpen(HOST));
+        assertEquals(2, breaker.status().get(0).getTimesOpened());
+    }
+
+    @Test
+    void isPermanentStatus_ShouldRetryOnlyTimeoutsThrottlingAndServerErrors() {
+        assertTrue(FetchException.isPermanentStatus(404));
+        assertTrue(FetchException.isPermanentStatus(410));
+        assertFalse(FetchException.isPermanentStatus(408));
+        assertFalse(FetchException.isPermanentStatus(429));
+        assertFalse(FetchException.isPermanentStatus(503));
+    }
+
+    private void openCircuit() throws FetchException {
+        for (int i = 0; i < 4; i++) {
+            breaker.acquire(HOST);
+            breaker.onFailure(HOST);
+        }
+        assertTrue(breaker.isOpen(HOST));
+    }
+}
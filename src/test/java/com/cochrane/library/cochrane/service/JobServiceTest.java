@@ -0,0 +1,78 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.ExecutorStats;
+import com.cochrane.library.cochrane.model.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    private final JobService jobService = new JobService(new CrawlerConfig(), null);
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRunOnNamedExecutorAndRecordResult() throws InterruptedException {
+        // When
+        Job job = jobService.submit(Job.Type.RETRY_FAILED, "retry", () -> Thread.currentThread().getName());
+
+        // Then
+        awaitFinished(job);
+        assertEquals(Job.Status.SUCCEEDED, job.getStatus());
+        assertTrue(((String) job.getResult()).startsWith("retry-job-"));
+        assertSame(job, jobService.get(job.getId()));
+        assertNotNull(job.getStartedAt());
+    }
+
+    @Test
+    void submit_WhenWorkThrows_ShouldMarkJobFailed() throws InterruptedException {
+        // When
+        Job job = jobService.submit(Job.Type.RECRAWL, "tick", () -> {
+            throw new IllegalStateException("origin down");
+        });
+
+        // Then
+        awaitFinished(job);
+        assertEquals(Job.Status.FAILED, job.getStatus());
+        assertEquals("origin down", job.getError());
+    }
+
+    @Test
+    void submit_WhenCrawlAlreadyRunning_ShouldRejectSecondCrawl() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Job first = jobService.submit(Job.Type.CRAWL, "first", () -> release.await(5, TimeUnit.SECONDS));
+
+        // When
+        Job second = jobService.submit(Job.Type.CRAWL, "second", () -> null);
+
+        // Then
+        assertEquals(Job.Status.REJECTED, second.getStatus());
+        ExecutorStats crawlPool = jobService.executorStats().stream()
+                .filter(stats -> stats.getName().equals("crawl-job"))
+                .findFirst().orElseThrow();
+        assertEquals(1, crawlPool.getRejected());
+        assertEquals(second, jobService.recent().get(0));
+
+        release.countDown();
+        awaitFinished(first);
+        assertEquals(Job.Status.SUCCEEDED, first.getStatus());
+    }
+
+    private static void awaitFinished(Job job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNotNull(job.getFinishedAt(), "job did not finish");
+    }
+}
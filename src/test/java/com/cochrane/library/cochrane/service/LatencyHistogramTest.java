@@ -0,0 +1,40 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentileMicros_ShouldStayWithinBucketPrecision() {
+        // Given: 1..10000 us, uniformly
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        // When / Then
+        assertEquals(10_000, histogram.count());
+        assertEquals(5_000, histogram.percentileMicros(0.50), 5_000 * 0.125);
+        assertEquals(9_500, histogram.percentileMicros(0.95), 9_500 * 0.125);
+        assertEquals(9_900, histogram.percentileMicros(0.99), 9_900 * 0.125);
+        assertEquals(10_000, histogram.maxMicros());
+        assertEquals(5_000.5, histogram.meanMicros(), 0.001);
+    }
+
+    @Test
+    void percentileMicros_WhenEmpty_ShouldReturnZero() {
+        assertEquals(0, new LatencyHistogram().percentileMicros(0.99));
+    }
+
+    @Test
+    void index_ShouldBeContiguousAndMatchUpperBounds() {
+        for (long micros = 0; micros < 1 << 20; micros++) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(micros <= LatencyHistogram.upperBound(index), "value above its bucket: " + micros);
+            assertTrue(index == 0 || micros > LatencyHistogram.upperBound(index - 1),
+                    "value below its bucket: " + micros);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.config.CrawlerConfig;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import com.cochrane.library.cochrane.repository.CochraneReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecrawlSchedulerTest {
+
+    @Mock
+    private CochraneReviewRepository reviewRepository;
+
+    @Mock
+    private CrawlerService crawlerService;
+
+    @Mock
+    private JobService jobService;
+
+    private RecrawlScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        CrawlerConfig config = new CrawlerConfig();
+        config.setRecrawlInitialIntervalHours(72);
+        config.setRecrawlMinIntervalHours(6);
+        config.setRecrawlMaxIntervalHours(720);
+        scheduler = new RecrawlScheduler(reviewRepository, crawlerService, config, jobService);
+    }
+
+    @Test
+    void nextInterval_ShouldShrinkOnChangeAndGrowOtherwise() {
+        assertEquals(36 * 60, scheduler.nextIntervalMinutes(72 * 60, true));
+        assertEquals(108 * 60, scheduler.nextIntervalMinutes(72 * 60, false));
+    }
+
+    @Test
+    void nextInterval_ShouldStayWithinBounds() {
+        assertEquals(6 * 60, scheduler.nextIntervalMinutes(7 * 60, true));
+        assertEquals(720 * 60, scheduler.nextIntervalMinutes(700 * 60, false));
+    }
+
+    @Test
+    void changeProbability_ShouldRankFrequentlyChangingReviewsFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        CochraneReview hot = checkedReview(now.minusDays(1), 10, 9);
+        CochraneReview stable = checkedReview(now.minusDays(1), 10, 0);
+
+        assertTrue(scheduler.changeProbability(hot, now) > scheduler.changeProbability(stable, now));
+    }
+
+    @Test
+    void recordCheck_ShouldUpdateCountersAndNextDueTime() {
+        LocalDateTime now = LocalDateTime.now();
+        CochraneReview review = checkedReview(now.minusDays(3), 2, 1);
+
+        scheduler.recordCheck(review, true, now);
+
+        assertEquals(3, review.getCheckCount());
+        assertEquals(2, review.getChangeCount());
+        assertEquals(now, review.getLastCheckedAt());
+        assertEquals(now.plusMinutes(36 * 60), review.getNextCrawlAt());
+    }
+
+    @Test
+    void recrawlDueReviews_WhenRefreshThrows_ShouldPostponeReviewAndContinue() throws IOException {
+        // Given: the review most likely to have changed fails with an unexpected error
+        LocalDateTime now = LocalDateTime.now();
+        CochraneReview failing = checkedReview(now.minusDays(1), 10, 9);
+        failing.setId(1L);
+        failing.setUrl("https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD000001.pub2/full");
+        CochraneReview next = checkedReview(now.minusDays(1), 10, 0);
+        next.setId(2L);
+        next.setUrl("https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD000002.pub2/full");
+        when(reviewRepository.findDueForRecrawl(any(), any())).thenReturn(List.of(next, failing));
+        when(crawlerService.refreshReview(failing)).thenThrow(new IllegalStateException("extractor failed"));
+        when(crawlerService.refreshReview(next)).thenReturn(true);
+
+        // When
+        int changed = scheduler.recrawlDueReviews();
+
+        // Then: the tick goes on, and the failing review is due again only after its interval
+        assertEquals(1, changed);
+        assertTrue(failing.getNextCrawlAt().isAfter(now.plusMinutes(72 * 60 - 1)));
+        assertEquals(10, failing.getCheckCount());
+        assertEquals(11, next.getCheckCount());
+        verify(reviewRepository).save(failing);
+        verify(reviewRepository).save(next);
+    }
+
+    private CochraneReview checkedReview(LocalDateTime lastChecked, int checks, int changes) {
+        CochraneReview review = new CochraneReview();
+        review.setLastCheckedAt(lastChecked);
+        review.setCheckCount(checks);
+        review.setChangeCount(changes);
+        review.setRevisitIntervalMinutes(72 * 60);
+        return review;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cochrane.library.cochrane.service;
+
+import com.cochrane.library.cochrane.model.Author;
+import com.cochrane.library.cochrane.model.CochraneReview;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewExtractorTest {
+
+    private static final String URL = "https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD001101.pub3/full";
+
+    private final ReviewExtractor extractor = new ReviewExtractor();
+
+    @Test
+    void extract_ShouldPopulateStructuredFields() throws IOException {
+        // Given
+        Document doc = snapshot("review-CD001101.html");
+
+        // When
+        CochraneReview review = extractor.extract(doc, URL, "Allergy & intolerance");
+
+        // Then
+        assertEquals("Oral immunotherapy for peanut allergy", review.getTitle());
+        assertEquals(List.of("Nurmatov U", "Dhami S", "Arasi S"),
+                review.getAuthorList().stream().map(Author::getName).toList());
+        assertEquals("nurmatov u", review.getAuthorList().get(0).getNameKey());
+        assertEquals("Nurmatov U, Dhami S, Arasi S", review.getAuthors());
+        assertEquals("10.1002/14651858.CD001101.pub3", review.getDoi());
+        assertEquals(LocalDate.of(2022, 6, 14), review.getPublicationDate());
+        assertEquals(LocalDate.of(2023, 1, 9), review.getUpdatedDate());
+        assertTrue(review.getAbstractText().startsWith("Background Peanut allergy"));
+        assertTrue(review.getPlainLanguageSummary().contains("What did we want to find out?"));
+        assertEquals(3, review.getSections().size());
+        assertEquals("Main results", review.getSections().get(1).getHeading());
+        assertEquals(CochraneReview.CrawlStatus.COMPLETED, review.getCrawlStatus());
+    }
+
+    @Test
+    void extract_WithoutTitle_ShouldReturnNull() {
+        // Given
+        Document doc = Jsoup.parse("<html><body><p>Not a review</p></body></html>", URL);
+
+        // When / Then
+        assertNull(extractor.extract(doc, URL, "Allergy & intolerance"));
+    }
+
+    @Test
+    void extractAuthors_ShouldPreferListItemsOverSplitting() {
+        // Given
+        Document doc = Jsoup.parse("<div class=\"article-authors__list\"><ul>"
+                + "<li><a href=\"#\">Smith, John</a></li><li><a href=\"#\">Doe, Jane</a></li></ul></div>");
+
+        // When / Then
+        assertEquals(List.of("Smith, John", "Doe, Jane"), extractor.extractAuthors(doc));
+    }
+
+    @Test
+    void extractDoi_ShouldFallBackToReviewUrl() {
+        // Given
+        Document doc = Jsoup.parse("<h1 class=\"publication-title\">Title</h1>");
+
+        // When / Then
+        assertEquals("10.1002/14651858.CD001101.pub3", extractor.extractDoi(doc, URL));
+    }
+
+    @Test
+    void parseDate_ShouldAcceptPageAndMetaFormats() {
+        assertEquals(LocalDate.of(2022, 9, 2), extractor.parseDate("Version published: 2 September 2022"));
+        assertEquals(LocalDate.of(2022, 9, 2), extractor.parseDate("2022/09/02"));
+        assertEquals(LocalDate.of(2022, 9, 2), extractor.parseDate("2022-09-02"));
+        assertNull(extractor.parseDate("sometime"));
+        assertNull(extractor.parseDate(" "));
+    }
+
+    private static Document snapshot(String file) throws IOException {
+        try (InputStream in = ReviewExtractorTest.class.getClassLoader()
+                .getResourceAsStream("replay/snapshot/" + file)) {
+            return Jsoup.parse(in, "UTF-8", URL);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.cochrane.library.cochrane.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-link allocation and time of listing link harvesting: jsoup's abs:href
+ * into a set of raw URLs (what crawlTopic used to do) against ReviewUrls.
+ * Excluded from the default build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=ReviewUrlsBenchmark
+ */
+@Tag("benchmark")
+class ReviewUrlsBenchmark {
+
+    private static final int LINKS = 1000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 1000;
+
+    @Test
+    void harvestListingLinks() {
+        Document doc = listing();
+        Elements links = doc.select("a[href*=/doi/]");
+
+        ToIntFunction<Elements> absHref = elements -> {
+            Set<String> urls = new LinkedHashSet<>();
+            for (Element link : elements) {
+                String url = link.attr("abs:href");
+                if (!url.isEmpty()) {
+                    urls.add(url);
+                }
+            }
+            return urls.size();
+        };
+        ToIntFunction<Elements> canonical = elements -> {
+            String origin = ReviewUrls.origin(doc.location());
+            Map<String, String> urls = new LinkedHashMap<>();
+            for (Element link : elements) {
+                String url = ReviewUrls.canonicalUrl(origin, link.attr("href"));
+                if (url != null) {
+                    urls.putIfAbsent(ReviewUrls.key(url), url);
+                }
+            }
+            return urls.size();
+        };
+
+        run("abs:href + raw URL set", links, absHref);
+        run("ReviewUrls canonical + DOI key", links, canonical);
+    }
+
+    private static void run(String name, Elements links, ToIntFunction<Elements> harvest) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int distinct = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            distinct = harvest.applyAsInt(links);
+        }
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            distinct = harvest.applyAsInt(links);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        long perLink = (long) LINKS * ROUNDS;
+        System.out.printf("%-34s distinct=%d %.0f bytes/link %.0f ns/link%n",
+                name, distinct, (double) bytes / perLink, (double) elapsed / perLink);
+    }
+
+    /**
+     * 1000 links to 250 reviews, each linked as /full, /abstract, with a
+     * query string and with a fragment.
+     */
+    private static Document listing() {
+        StringBuilder html = new StringBuilder("<html><body><ul>");
+        for (int i = 0; i < LINKS / 4; i++) {
+            String path = "/cdsr/doi/10.1002/14651858.CD" + (100000 + i) + ".pub2/";
+            html.append("<li><a href=\"").append(path).append("full\">Review</a>")
+                    .append("<a href=\"").append(path).append("abstract\">Abstract</a>")
+                    .append("<a href=\"").append(path).append("full?highlightAbstract=x\">Search</a>")
+                    .append("<a href=\"").append(path).append("full#references\">Refs</a></li>");
+        }
+        html.append("</ul></body></html>");
+        return Jsoup.parse(html.toString(), "https://www.cochranelibrary.com/en/search?topic=allergy");
+    }
+}
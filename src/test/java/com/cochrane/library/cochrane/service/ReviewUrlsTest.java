@@ -0,0 +1,43 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewUrlsTest {
+
+    private static final String ORIGIN = "https://www.cochranelibrary.com";
+    private static final String CANONICAL = ORIGIN + "/cdsr/doi/10.1002/14651858.CD001101.pub3/full";
+
+    @Test
+    void canonicalUrl_VariantsOfTheSameReview_ShouldCollapse() {
+        assertEquals(CANONICAL, ReviewUrls.canonicalUrl(ORIGIN, "/cdsr/doi/10.1002/14651858.CD001101.pub3/full"));
+        assertEquals(CANONICAL, ReviewUrls.canonicalUrl(ORIGIN, "/cdsr/doi/10.1002/14651858.CD001101.pub3/abstract"));
+        assertEquals(CANONICAL, ReviewUrls.canonicalUrl(ORIGIN,
+                "/cdsr/doi/10.1002/14651858.CD001101.pub3/full?highlightAbstract=peanut#CD001101-abs-0001"));
+        assertEquals(CANONICAL, ReviewUrls.canonicalUrl(ORIGIN, CANONICAL + "#references"));
+    }
+
+    @Test
+    void canonicalUrl_WithoutDoi_ShouldResolveAndDropQuery() {
+        assertEquals(ORIGIN + "/cdsr/doi/latest", ReviewUrls.canonicalUrl(ORIGIN, "/cdsr/doi/latest?page=2"));
+        assertEquals("https://example.org/doi/x", ReviewUrls.canonicalUrl(ORIGIN, "//example.org/doi/x#top"));
+        assertNull(ReviewUrls.canonicalUrl(ORIGIN, "../doi/x"));
+    }
+
+    @Test
+    void doiKey_ShouldMatchTheDoiPattern() {
+        assertEquals("10.1002/14651858.CD001101.pub3", ReviewUrls.doiKey(CANONICAL));
+        assertEquals("10.1002/14651858.CD001101", ReviewUrls.doiKey("doi: 10.1002/14651858.CD001101 (2023)"));
+        assertNull(ReviewUrls.doiKey("version 10.2 of /cdsr/doi/10.12/x"));
+        assertNull(ReviewUrls.doiKey(null));
+        assertEquals(ORIGIN + "/about", ReviewUrls.key(ORIGIN + "/about"));
+    }
+
+    @Test
+    void origin_ShouldKeepSchemeHostAndPort() {
+        assertEquals("http://127.0.0.1:8089", ReviewUrls.origin("http://127.0.0.1:8089/cdsr/reviews/topics"));
+        assertEquals(ORIGIN, ReviewUrls.origin(ORIGIN));
+        assertEquals("", ReviewUrls.origin(""));
+    }
+}
@@ -0,0 +1,65 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RobotsRulesTest {
+
+    private static final String ROBOTS = """
+            # comment
+            User-agent: *
+            Disallow: /cdsr/reviews/search
+            Disallow: /*.pdf$
+            Allow: /cdsr/reviews/search/help
+            Crawl-delay: 10
+
+            User-agent: OtherBot
+            User-agent: CochraneCrawler
+            Disallow: /cdsr/doi/
+            Allow: /cdsr/doi/*/full
+            Crawl-delay: 2.5
+
+            Sitemap: https://www.cochranelibrary.com/sitemap-index.xml
+            """;
+
+    @Test
+    void parse_WithOwnGroup_ShouldUseOnlyItsRulesAndDelay() {
+        // When
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "CochraneCrawler");
+
+        // Then: the * group does not apply once a group names us
+        assertTrue(rules.isAllowed("/cdsr/reviews/search?q=asthma"));
+        assertTrue(rules.isAllowed("/cdsr/doi/10.1002/14651858.CD001101.pub3/full"));
+        assertFalse(rules.isAllowed("/cdsr/doi/10.1002/14651858.CD001101.pub3/abstract"));
+        assertEquals(2500, rules.crawlDelayMillis());
+        assertEquals(List.of("https://www.cochranelibrary.com/sitemap-index.xml"), rules.sitemaps());
+    }
+
+    @Test
+    void isAllowed_WithStarGroup_ShouldPreferLongestMatchAndAnchors() {
+        // When
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "SomeoneElse");
+
+        // Then
+        assertFalse(rules.isAllowed("/cdsr/reviews/search"));
+        assertTrue(rules.isAllowed("/cdsr/reviews/search/help"), "longer allow wins");
+        assertFalse(rules.isAllowed("/files/review.pdf"));
+        assertTrue(rules.isAllowed("/files/review.pdf?download=1"), "$ anchors at the end");
+        assertTrue(rules.isAllowed("/robots.txt"));
+        assertEquals(10_000, rules.crawlDelayMillis());
+    }
+
+    @Test
+    void parse_WithoutRules_ShouldAllowEverything() {
+        // When
+        RobotsRules rules = RobotsRules.parse("User-agent: *\nDisallow:\n", "CochraneCrawler");
+
+        // Then
+        assertTrue(rules.isAllowed("/cdsr/doi/anything"));
+        assertEquals(-1, rules.crawlDelayMillis());
+        assertTrue(rules.sitemaps().isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final AtomicLong now = new AtomicLong();
+    // results are fresh for 1s, then served stale for 5s while reloaded
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>(1_000, 5_000, now::get);
+
+    @Test
+    void get_WhenCalledConcurrently_ShouldShareOneLoad() throws Exception {
+        // Given
+        int callers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.get("stats", () -> {
+                loading.countDown();
+                await(release);
+                return queries.incrementAndGet();
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // When
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> flight.get("stats", queries::incrementAndGet)));
+            }
+            while (flight.shared() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Then
+            for (Future<Integer> result : results) {
+                assertEquals(1, (int) result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, queries.get());
+            assertEquals(1, flight.loads());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_WithinFreshWindow_ShouldReuseResult() {
+        // Given
+        AtomicInteger queries = new AtomicInteger();
+        flight.get("stats", queries::incrementAndGet);
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        int reused = flight.get("stats", queries::incrementAndGet);
+        int other = flight.get("topics", queries::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        int reloaded = flight.get("stats", queries::incrementAndGet);
+
+        // Then
+        assertEquals(1, reused);
+        assertEquals(2, other);
+        assertEquals(3, reloaded);
+        assertEquals(3, flight.loads());
+    }
+
+    @Test
+    void get_WithinStaleWindow_ShouldServeOldValueWhileReloading() throws Exception {
+        // Given
+        flight.get("stats", () -> 1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reload = executor.submit(() -> flight.get("stats", () -> {
+                loading.countDown();
+                await(release);
+                return 2;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // When
+            int served = flight.get("stats", () -> {
+                throw new AssertionError("should not load while a reload is in flight");
+            });
+            release.countDown();
+
+            // Then
+            assertEquals(1, served);
+            assertEquals(2, (int) reload.get(5, TimeUnit.SECONDS));
+            assertEquals(2, (int) flight.get("stats", () -> 3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_WhenLoadFails_ShouldThrowAndNotCacheFailure() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        // When
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> flight.get("stats", () -> {
+                    throw failure;
+                }));
+
+        // Then
+        assertSame(failure, thrown);
+        assertEquals(7, (int) flight.get("stats", () -> 7));
+        assertEquals(2, flight.loads());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cochrane.library.cochrane.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SitemapReaderTest {
+
+    private static final String URLSET = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+              <url>
+                <loc>https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD001101.pub3/full</loc>
+                <lastmod>2024-03-01</lastmod>
+              </url>
+              <url>
+                <loc> https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD005219.pub4/full </loc>
+              </url>
+            </urlset>
+            """;
+
+    @Test
+    void read_WithUrlset_ShouldStreamUrlsWithLastmod() throws IOException {
+        // Given
+        List<SitemapReader.Entry> urls = new ArrayList<>();
+        List<SitemapReader.Entry> sitemaps = new ArrayList<>();
+
+        // When
+        SitemapReader.Kind kind = SitemapReader.read(stream(URLSET.getBytes(StandardCharsets.UTF_8)),
+                urls::add, sitemaps::add);
+
+        // Then
+        assertEquals(SitemapReader.Kind.URLSET, kind);
+        assertTrue(sitemaps.isEmpty());
+        assertEquals(2, urls.size());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), urls.get(0).lastModified());
+        assertEquals("https://www.cochranelibrary.com/cdsr/doi/10.1002/14651858.CD005219.pub4/full",
+                urls.get(1).loc());
+        assertNull(urls.get(1).lastModified());
+    }
+
+    @Test
+    void read_WithGzippedIndex_ShouldReturnChildSitemaps() throws IOException {
+        // Given
+        String index = """
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                  <sitemap><loc>https://example.org/reviews-1.xml.gz</loc><lastmod>2024-03-01T10:15:00+00:00</lastmod></sitemap>
+                  <sitemap><loc>https://example.org/reviews-2.xml.gz</loc></sitemap>
+                </sitemapindex>
+                """;
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(index.getBytes(StandardCharsets.UTF_8));
+        }
+        List<SitemapReader.Entry> sitemaps = new ArrayList<>();
+
+        // When
+        SitemapReader.Kind kind = SitemapReader.read(stream(gzipped.toByteArray()),
+                url -> fail("no urls in an index"), sitemaps::add);
+
+        // Then
+        assertEquals(SitemapReader.Kind.INDEX, kind);
+        assertEquals(2, sitemaps.size());
+        assertEquals("https://example.org/reviews-1.xml.gz", sitemaps.get(0).loc());
+        assertNotNull(sitemaps.get(0).lastModified());
+    }
+
+    @Test
+    void read_WithHtmlPage_ShouldFail() {
+        // When / Then
+        assertThrows(IOException.class, () -> SitemapReader.read(
+                stream("<html><body>Not found</body></html>".getBytes(StandardCharsets.UTF_8)),
+                url -> { }, sitemap -> { }));
+    }
+
+    private static ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+}